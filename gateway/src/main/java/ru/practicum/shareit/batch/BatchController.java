@@ -0,0 +1,42 @@
+package ru.practicum.shareit.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.ratelimit.RateLimitClients;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import java.util.concurrent.CompletableFuture;
+
+import static ru.practicum.shareit.tool.Headers.USER_ID;
+
+@Controller
+@RequestMapping(path = "/batch")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class BatchController {
+
+    private final BatchExecutor batchExecutor;
+
+    private final RateLimitClients rateLimitClients;
+
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Object>> batch(
+            @Positive @RequestHeader(value = USER_ID, required = false) Long userId,
+            @Valid @RequestBody BatchRequestDto batchRequest,
+            HttpServletRequest request) {
+        log.info("Получен POST-запрос к эндпоинту /batch на выполнение {} запросов.", batchRequest.getRequests().size());
+        return batchExecutor.execute(batchRequest.getRequests(), userId, rateLimitClients.forward(request))
+                .thenApply(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.shareit.batch.dto.BatchItemDto;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+import ru.practicum.shareit.ratelimit.RateLimitClients;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.tool.Headers.USER_ID;
+
+/**
+ * Runs the GETs of a batch concurrently against this gateway's own endpoints, so each one goes
+ * through the same validation, rate limits, cache and server transport as a standalone call. Each
+ * request carries the batch client's rate-limit key, so it is charged to that client.
+ */
+@Service
+@Slf4j
+public class BatchExecutor {
+
+    private final WebClient webClient;
+
+    private final ObjectMapper objectMapper;
+
+    private volatile String baseUrl;
+
+    @Autowired
+    public BatchExecutor(WebClient.Builder builder, ObjectMapper objectMapper) {
+        this.webClient = builder.build();
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        baseUrl = "http://localhost:" + event.getWebServer().getPort();
+    }
+
+    public CompletableFuture<List<BatchResultDto>> execute(List<BatchItemDto> items, Long userId,
+                                                           String rateLimitClient) {
+        List<CompletableFuture<BatchResultDto>> results = items.stream()
+                .map(item -> execute(item, userId, rateLimitClient))
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> results.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+    }
+
+    private CompletableFuture<BatchResultDto> execute(BatchItemDto item, Long userId, String rateLimitClient) {
+        URI uri;
+        try {
+            uri = uri(item.getPath());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(BatchResultDto.builder()
+                    .id(item.getId())
+                    .status(HttpStatus.BAD_REQUEST.value())
+                    .build());
+        }
+        return webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                    headers.set(RateLimitClients.HEADER, rateLimitClient);
+                    if (userId != null) {
+                        headers.set(USER_ID, String.valueOf(userId));
+                    }
+                })
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .toFuture()
+                .thenApply(response -> BatchResultDto.builder()
+                        .id(item.getId())
+                        .status(response.getStatusCodeValue())
+                        .body(toJson(response.getBody(), response.getHeaders().getContentType()))
+                        .build())
+                .exceptionally(error -> {
+                    log.warn("Batch request {} failed.", item.getPath(), error);
+                    return BatchResultDto.builder()
+                            .id(item.getId())
+                            .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                            .build();
+                });
+    }
+
+    /**
+     * Takes the path as already encoded, so it is never expanded as a uri template.
+     */
+    private URI uri(String path) {
+        String[] parts = path.split("\\?", 2);
+        return UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path(parts[0])
+                .query(parts.length > 1 ? parts[1] : null)
+                .build(true)
+                .toUri();
+    }
+
+    private String toJson(byte[] body, MediaType contentType) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        String text = new String(body, StandardCharsets.UTF_8);
+        if (contentType != null && contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return text;
+        }
+        try {
+            return objectMapper.writeValueAsString(text);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
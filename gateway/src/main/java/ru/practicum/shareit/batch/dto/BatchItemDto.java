@@ -0,0 +1,24 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchItemDto {
+
+    @NotBlank(message = "Id cannot be blank.")
+    private String id;
+
+    @NotBlank(message = "Path cannot be blank.")
+    @Pattern(regexp = "^/(users|items|bookings|requests)(/[A-Za-z0-9_-]+)*/?(\\?[A-Za-z0-9._~%&=+,:-]*)?$",
+            message = "Path must be a users, items, bookings or requests endpoint.")
+    private String path;
+}
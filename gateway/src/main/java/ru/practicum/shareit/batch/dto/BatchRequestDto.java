@@ -0,0 +1,23 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchRequestDto {
+
+    @Valid
+    @NotEmpty(message = "Requests cannot be empty.")
+    @Size(max = 20, message = "Max requests in a batch = 20.")
+    private List<BatchItemDto> requests;
+}
@@ -1,60 +1,62 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerTransport serverTransport) {
+        super(serverTransport, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createBooking(BookItemRequestDto requestDto, long userId) {
+    public CompletableFuture<ResponseEntity<Object>> createBooking(BookItemRequestDto requestDto, long userId) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> updateBooking(long bookingId, long ownerId, Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> updateBooking(long bookingId, long ownerId, Boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, ownerId);
     }
 
-    public ResponseEntity<Object> getBookingById(long bookingId, long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(long bookingId, long userId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                                                 String cursor) {
+        return get("?" + listQuery(cursor), userId, listParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> getBookingsOwner(long userId, BookingState state,  Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> getBookingsOwner(long userId, BookingState state,  Integer from, Integer size,
+                                                                      String cursor) {
+        return get("/owner?" + listQuery(cursor), userId, listParameters(state, from, size, cursor));
+    }
+
+    private static String listQuery(String cursor) {
+        String query = "state={state}&from={from}&size={size}";
+        return cursor == null ? query : query + "&cursor={cursor}";
+    }
+
+    private static Map<String, Object> listParameters(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 
 }
@@ -13,6 +13,7 @@ import ru.practicum.shareit.booking.dto.BookingState;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 import static ru.practicum.shareit.tool.Headers.USER_ID;
 
@@ -26,19 +27,20 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(
+	public CompletableFuture<ResponseEntity<Object>> getBookings(
 			@Positive @RequestHeader(USER_ID) long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "cursor", required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
 		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getBookings(userId, state, from, size);
+		return bookingClient.getBookings(userId, state, from, size, cursor);
 	}
 
 	@PostMapping
-	public ResponseEntity<Object> bookItem(
+	public CompletableFuture<ResponseEntity<Object>> bookItem(
 			@Positive @RequestHeader(USER_ID) long userId,
 			@RequestBody @Validated(BookingCreationInfo.class) BookItemRequestDto requestDto) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
@@ -46,7 +48,7 @@ public class BookingController {
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(
+	public CompletableFuture<ResponseEntity<Object>> getBooking(
 			@Positive @RequestHeader(USER_ID) long userId,
 			@Positive @PathVariable Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
@@ -54,23 +56,24 @@ public class BookingController {
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> updateBooking(@PathVariable int bookingId,
-												@RequestHeader(USER_ID) int ownerId,
-												@RequestParam Boolean approved) {
+	public CompletableFuture<ResponseEntity<Object>> updateBooking(@PathVariable int bookingId,
+																@RequestHeader(USER_ID) int ownerId,
+																@RequestParam Boolean approved) {
 		log.info("Update booking {}.", bookingId);
 		return bookingClient.updateBooking(bookingId, ownerId, approved);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getBookingsItemsByUserId(
+	public CompletableFuture<ResponseEntity<Object>> getBookingsItemsByUserId(
 			@Positive @RequestHeader(USER_ID) long ownerId,
 			@RequestParam(name = "state", defaultValue = "ALL") String stateParam,
 			@RequestParam(name = "from", defaultValue = "0") int from,
-			@RequestParam(name = "size", defaultValue = "10") int size
+			@RequestParam(name = "size", defaultValue = "10") int size,
+			@RequestParam(name = "cursor", required = false) String cursor
 	) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
 		log.debug("Request \"getBookingsItemsByUserId\"is called.");
-		return bookingClient.getBookingsOwner(ownerId, state, from, size);
+		return bookingClient.getBookingsOwner(ownerId, state, from, size, cursor);
 	}
 }
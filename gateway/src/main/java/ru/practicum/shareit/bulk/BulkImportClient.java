@@ -0,0 +1,79 @@
+package ru.practicum.shareit.bulk;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import ru.practicum.shareit.client.ServerBalancer;
+import ru.practicum.shareit.client.ServerHttpProperties;
+import ru.practicum.shareit.client.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static ru.practicum.shareit.tool.Headers.USER_ID;
+
+/**
+ * Streams uploads to the server's import endpoints. Imports bypass the shared transport: they are neither
+ * retried nor given a request deadline, and wait up to {@code shareit.import.timeout} for the server's answer,
+ * since the server commits rows while the upload is still arriving.
+ */
+@Service
+public class BulkImportClient {
+    private static final String API_PREFIX = "/import";
+
+    private final WebClient webClient;
+
+    private final ServerBalancer serverBalancer;
+
+    @Autowired
+    public BulkImportClient(WebClient.Builder builder,
+                            ServerBalancer serverBalancer,
+                            ServerHttpProperties properties,
+                            @Value("${shareit.import.timeout:30m}") Duration timeout) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(timeout);
+        this.webClient = builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.serverBalancer = serverBalancer;
+    }
+
+    public CompletableFuture<ResponseEntity<byte[]>> importUsers(Flux<DataBuffer> rows) {
+        return post("/users", null, rows);
+    }
+
+    public CompletableFuture<ResponseEntity<byte[]>> importItems(Flux<DataBuffer> rows, long ownerId) {
+        return post("/items", ownerId, rows);
+    }
+
+    public CompletableFuture<ResponseEntity<byte[]>> importBookings(Flux<DataBuffer> rows, long bookerId) {
+        return post("/bookings", bookerId, rows);
+    }
+
+    private CompletableFuture<ResponseEntity<byte[]>> post(String path, Long userId, Flux<DataBuffer> rows) {
+        return webClient.post()
+                .uri(serverBalancer.nodeUrl() + API_PREFIX + path)
+                .headers(headers -> {
+                    headers.setContentType(MediaType.APPLICATION_NDJSON);
+                    headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                    if (userId != null) {
+                        headers.set(USER_ID, String.valueOf(userId));
+                    }
+                })
+                .body(BodyInserters.fromDataBuffers(rows))
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .onErrorMap(error -> new ServerUnavailableException("Import to " + path + " failed.", error))
+                .toFuture();
+    }
+}
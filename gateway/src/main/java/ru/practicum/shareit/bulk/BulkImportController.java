@@ -0,0 +1,90 @@
+package ru.practicum.shareit.bulk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.async.DeferredResult;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingCreationInfo;
+import ru.practicum.shareit.item.dto.BasicUserInfo;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.BasicInfo;
+import ru.practicum.shareit.user.dto.EmailInfo;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.validation.constraints.Positive;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static ru.practicum.shareit.tool.Headers.USER_ID;
+
+@Controller
+@RequestMapping(path = "/import")
+@Slf4j
+@Validated
+public class BulkImportController {
+
+    private final BulkImportClient bulkImportClient;
+
+    private final ImportRowValidator importRowValidator;
+
+    private final long timeoutMs;
+
+    @Autowired
+    public BulkImportController(BulkImportClient bulkImportClient,
+                               ImportRowValidator importRowValidator,
+                               @Value("${shareit.import.timeout:30m}") Duration timeout) {
+        this.bulkImportClient = bulkImportClient;
+        this.importRowValidator = importRowValidator;
+        this.timeoutMs = timeout.toMillis();
+    }
+
+    @PostMapping(path = "/users", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public DeferredResult<ResponseEntity<Object>> importUsers(InputStream body) {
+        log.info("Получен POST-запрос к эндпоинту /import/users на импорт пользователей.");
+        ValidatedRows rows = importRowValidator.validate(body, UserDto.class, BasicInfo.class, EmailInfo.class);
+        return respond(rows, bulkImportClient.importUsers(rows.body()));
+    }
+
+    @PostMapping(path = "/items", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public DeferredResult<ResponseEntity<Object>> importItems(@Positive @RequestHeader(USER_ID) long ownerId,
+                                                              InputStream body) {
+        log.info("Получен POST-запрос к эндпоинту /import/items на импорт вещей.");
+        ValidatedRows rows = importRowValidator.validate(body, ItemDto.class, BasicUserInfo.class);
+        return respond(rows, bulkImportClient.importItems(rows.body(), ownerId));
+    }
+
+    @PostMapping(path = "/bookings", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public DeferredResult<ResponseEntity<Object>> importBookings(@Positive @RequestHeader(USER_ID) long bookerId,
+                                                                 InputStream body) {
+        log.info("Получен POST-запрос к эндпоинту /import/bookings на импорт бронирований.");
+        ValidatedRows rows = importRowValidator.validate(body, BookItemRequestDto.class, BookingCreationInfo.class);
+        return respond(rows, bulkImportClient.importBookings(rows.body(), bookerId));
+    }
+
+    /**
+     * Answers within the import timeout rather than the servlet container's default async timeout.
+     */
+    private DeferredResult<ResponseEntity<Object>> respond(ValidatedRows rows,
+                                                           CompletableFuture<ResponseEntity<byte[]>> call) {
+        DeferredResult<ResponseEntity<Object>> result = new DeferredResult<>(timeoutMs);
+        call.thenApply(response -> importRowValidator.merge(rows, response))
+                .whenComplete((response, error) -> {
+                    if (error == null) {
+                        result.setResult(response);
+                    } else {
+                        result.setErrorResult(error instanceof CompletionException ? error.getCause() : error);
+                    }
+                });
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.bulk.dto.ImportErrorDto;
+import ru.practicum.shareit.bulk.dto.ImportResultDto;
+import ru.practicum.shareit.client.ServerResponses;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Checks an NDJSON upload line by line against the same DTO rules as single creates, and merges the
+ * rejected lines into the server's import result.
+ */
+@Component
+public class ImportRowValidator {
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final int maxRows;
+
+    @Autowired
+    public ImportRowValidator(ObjectMapper objectMapper,
+                              Validator validator,
+                              @Value("${shareit.import.max-rows:100000}") int maxRows) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Wraps the upload without reading it; lines are read and checked as {@link ValidatedRows#body()} is sent.
+     */
+    public ValidatedRows validate(InputStream body, Class<?> type, Class<?>... groups) {
+        return new ValidatedRows(body, text -> check(text, type, groups), maxRows);
+    }
+
+    /**
+     * Adds the lines rejected here to a successful server result; any other response is returned as is.
+     */
+    public ResponseEntity<Object> merge(ValidatedRows rows, ResponseEntity<byte[]> response) {
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            return ServerResponses.passThrough(response.getStatusCodeValue(), response.getHeaders(),
+                    response.getBody());
+        }
+        ImportResultDto result;
+        try {
+            result = objectMapper.readValue(response.getBody(), ImportResultDto.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        result.setTotal(rows.getTotal());
+        result.getErrors().addAll(rows.getErrors());
+        result.getErrors().sort(Comparator.comparingLong(ImportErrorDto::getLine));
+        return ResponseEntity.ok(result);
+    }
+
+    private String check(String text, Class<?> type, Class<?>... groups) {
+        Object row;
+        try {
+            row = objectMapper.readValue(text, type);
+        } catch (JsonProcessingException e) {
+            return "Row is not valid JSON.";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(row, groups);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.bulk;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.bulk.dto.ImportErrorDto;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An upload validated while it streams to the server: lines are read as the server pulls the body, and every
+ * rejected line goes on as a blank line so line numbers still match the file. The total and the errors are
+ * complete once the body has been sent.
+ */
+public class ValidatedRows {
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final BufferedReader reader;
+
+    private final Function<String, String> check;
+
+    private final int maxRows;
+
+    private final List<ImportErrorDto> errors = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile int total;
+
+    private long line;
+
+    private boolean finished;
+
+    ValidatedRows(InputStream body, Function<String, String> check, int maxRows) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        this.check = check;
+        this.maxRows = maxRows;
+    }
+
+    public Flux<DataBuffer> body() {
+        return Flux.<DataBuffer>generate(sink -> {
+                    try {
+                        byte[] chunk = nextChunk();
+                        if (chunk == null) {
+                            sink.complete();
+                        } else {
+                            sink.next(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+                        }
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<ImportErrorDto> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Reads and checks lines until about {@value #CHUNK_BYTES} bytes are ready; null once the upload is done.
+     */
+    private byte[] nextChunk() throws IOException {
+        if (finished) {
+            return null;
+        }
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        String text;
+        while (chunk.size() < CHUNK_BYTES && (text = reader.readLine()) != null) {
+            line++;
+            if (!text.isBlank()) {
+                if (total == maxRows) {
+                    errors.add(error(line, String.format("Max rows in a file = %d.", maxRows)));
+                    finished = true;
+                    break;
+                }
+                total++;
+                String error = check.apply(text);
+                if (error == null) {
+                    chunk.write(text.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    errors.add(error(line, error));
+                }
+            }
+            chunk.write('\n');
+        }
+        if (chunk.size() < CHUNK_BYTES) {
+            finished = true;
+        }
+        return chunk.size() == 0 ? null : chunk.toByteArray();
+    }
+
+    private static ImportErrorDto error(long line, String error) {
+        return ImportErrorDto.builder().line(line).error(error).build();
+    }
+}
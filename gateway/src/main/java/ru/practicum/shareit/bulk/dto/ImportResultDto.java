@@ -0,0 +1,23 @@
+package ru.practicum.shareit.bulk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportResultDto {
+
+    private int total;
+
+    private int imported;
+
+    @Builder.Default
+    private List<ImportErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads of the retries and hedges: one scheduler that waits out their delays and a bounded pool that
+ * runs them. On the blocking transport an attempt holds its thread for the whole call, so they are kept
+ * apart from the common pool that every {@code CompletableFuture} in the gateway shares.
+ */
+public class AttemptExecutors implements AutoCloseable {
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ThreadPoolExecutor executor;
+
+    public AttemptExecutors(int threads, int queueCapacity) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "server-retry-scheduler"));
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> daemon(runnable, "server-attempt-" + count.incrementAndGet()));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    Executor executor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
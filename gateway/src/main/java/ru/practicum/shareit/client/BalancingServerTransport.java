@@ -0,0 +1,224 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends each call to the node the {@link ServerBalancer} picks and reports back how the node did.
+ * A failed attempt is retried on another node after a jittered backoff: GETs after any transport
+ * failure, other methods only when the connection was never made. Optionally a GET still unanswered
+ * at the recent latency percentile is hedged with a second attempt on another node; the first
+ * answer wins and the other attempt is cancelled. Retries and hedges spend from a {@link RetryBudget};
+ * they run on the {@link AttemptExecutors}. Hedging needs the reactive transport, since a blocking
+ * attempt has finished before it returns.
+ */
+public class BalancingServerTransport implements ServerTransport {
+
+    private final ServerTransport delegate;
+
+    private final ServerBalancer balancer;
+
+    private final ServerRetryProperties properties;
+
+    private final RetryBudget budget;
+
+    private final LatencyTracker latency;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor attemptExecutor;
+
+    private final Counter retries;
+
+    private final Counter hedges;
+
+    private final Counter budgetExhausted;
+
+    public BalancingServerTransport(ServerTransport delegate, ServerBalancer balancer,
+                                    ServerRetryProperties properties, AttemptExecutors executors,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.balancer = balancer;
+        this.properties = properties;
+        this.budget = new RetryBudget(properties.getBudgetRatio(), properties.getBudgetMin());
+        this.latency = new LatencyTracker(properties.getHedgePercentile());
+        this.scheduler = executors.scheduler();
+        this.attemptExecutor = executors.executor();
+        this.retries = meterRegistry.counter("shareit.gateway.extra-attempts", "kind", "retry");
+        this.hedges = meterRegistry.counter("shareit.gateway.extra-attempts", "kind", "hedge");
+        this.budgetExhausted = meterRegistry.counter("shareit.gateway.extra-attempts", "kind", "denied");
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(ServerRequest request) {
+        budget.deposit();
+        Call call = new Call(request);
+        ServerNode first = attempt(call, 1, null);
+        if (properties.isHedge() && request.getMethod() == HttpMethod.GET && !call.result.isDone()) {
+            long delay = Math.max(latency.get(), properties.getHedgeMinDelay().toNanos());
+            later(delay, () -> {
+                if (call.result.isDone()) {
+                    return;
+                }
+                if (!budget.tryWithdraw()) {
+                    budgetExhausted.increment();
+                    return;
+                }
+                hedges.increment();
+                attempt(call, properties.getMaxAttempts(), first);
+            }, () -> { });
+        }
+        return call.result;
+    }
+
+    private ServerNode attempt(Call call, int attemptNumber, ServerNode excluded) {
+        ServerNode node = balancer.choose(call.request.getUserId(), excluded);
+        long startedAt = System.nanoTime();
+        node.start();
+        call.started();
+        CompletableFuture<ResponseEntity<Object>> attempt;
+        try {
+            attempt = delegate.exchange(call.request.toBuilder().node(node.getUrl()).build());
+        } catch (RuntimeException e) {
+            attempt = CompletableFuture.failedFuture(e);
+        }
+        call.track(attempt);
+        attempt.whenComplete((response, error) -> {
+            if (call.result.isDone() && error != null) {
+                node.release();
+            } else {
+                balancer.onResponse(node, error != null || response.getStatusCode().is5xxServerError(), startedAt);
+            }
+            if (error == null) {
+                if (call.request.getMethod() == HttpMethod.GET) {
+                    latency.record(System.nanoTime() - startedAt);
+                }
+                call.succeed(response);
+            } else if (!call.result.isDone() && attemptNumber < properties.getMaxAttempts()
+                    && isRetryable(call.request, error)) {
+                if (budget.tryWithdraw()) {
+                    retries.increment();
+                    call.started();
+                    later(backoff(attemptNumber), () -> {
+                        if (!call.result.isDone()) {
+                            attempt(call, attemptNumber + 1, node);
+                        }
+                        call.finished(null);
+                    }, () -> call.finished(error));
+                    call.finished(null);
+                } else {
+                    budgetExhausted.increment();
+                    call.finished(error);
+                }
+            } else {
+                call.finished(error);
+            }
+        });
+        return node;
+    }
+
+    /**
+     * Runs {@code task} on the attempt executor after the delay, or {@code rejected} when either
+     * executor refuses it.
+     */
+    private void later(long delayNanos, Runnable task, Runnable rejected) {
+        try {
+            scheduler.schedule(() -> {
+                try {
+                    attemptExecutor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    rejected.run();
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            rejected.run();
+        }
+    }
+
+    private long backoff(int attemptNumber) {
+        long cap = Math.min(properties.getMaxBackoff().toNanos(),
+                properties.getBackoff().toNanos() << Math.min(attemptNumber - 1, 16));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static boolean isRetryable(ServerRequest request, Throwable error) {
+        if (request.getMethod() == HttpMethod.GET) {
+            return true;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The attempts of one call. The result completes with the first response, or with the last
+     * error once no attempt is running or scheduled.
+     */
+    private static final class Call {
+
+        private final ServerRequest request;
+
+        private final CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+
+        private final List<CompletableFuture<ResponseEntity<Object>>> attempts = new ArrayList<>();
+
+        private int pending;
+
+        private Throwable lastError;
+
+        private Call(ServerRequest request) {
+            this.request = request;
+        }
+
+        private synchronized void started() {
+            pending++;
+        }
+
+        private synchronized void track(CompletableFuture<ResponseEntity<Object>> attempt) {
+            attempts.add(attempt);
+        }
+
+        private void succeed(ResponseEntity<Object> response) {
+            List<CompletableFuture<ResponseEntity<Object>>> others;
+            synchronized (this) {
+                pending--;
+                others = new ArrayList<>(attempts);
+            }
+            if (result.complete(response)) {
+                others.forEach(other -> other.cancel(true));
+            }
+        }
+
+        /**
+         * Ends an attempt, or the reservation for a scheduled retry, which may end after the retry itself.
+         */
+        private void finished(Throwable error) {
+            Throwable failure;
+            synchronized (this) {
+                pending--;
+                if (error != null) {
+                    lastError = error;
+                }
+                failure = pending == 0 ? lastError : null;
+            }
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            }
+        }
+    }
+}
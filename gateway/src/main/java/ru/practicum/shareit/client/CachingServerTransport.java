@@ -0,0 +1,218 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps successful GET responses that carry an ETag in an LRU bounded by total body size,
+ * keyed by path, parameters and user. Entries younger than {@code fresh-for} are served
+ * without calling the server when their path is in {@code fresh-paths}; all others are
+ * revalidated with {@code If-None-Match}, so an unchanged resource costs a bodiless 304.
+ * A successful write drops the entries of the resources it can change: every resource for a
+ * user write, bookings and requests for an item write, items for a booking write.
+ */
+public class CachingServerTransport implements ServerTransport {
+
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private static final Map<String, List<String>> AFFECTED = Map.of(
+            "/items", List.of("/items", "/bookings", "/requests"),
+            "/bookings", List.of("/bookings", "/items"),
+            "/requests", List.of("/requests"));
+
+    private final ServerTransport delegate;
+
+    private final long maxSize;
+
+    private final long maxEntrySize;
+
+    private final long freshForMs;
+
+    private final List<String> freshPaths;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Invalidations per resource, plus {@code epoch} for writes that change every resource; entries
+     * stored under an older sum are stale.
+     */
+    private final Map<String, Long> generations = new HashMap<>();
+
+    private long epoch;
+
+    private long size;
+
+    private final Counter hits;
+
+    private final Counter revalidations;
+
+    private final Counter misses;
+
+    public CachingServerTransport(ServerTransport delegate, ServerCacheProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxSize = properties.getMaxSize().toBytes();
+        this.maxEntrySize = properties.getMaxEntrySize().toBytes();
+        this.freshForMs = properties.getFreshFor().toMillis();
+        this.freshPaths = properties.getFreshPaths();
+        this.hits = meterRegistry.counter("shareit.gateway.cache", "result", "hit");
+        this.revalidations = meterRegistry.counter("shareit.gateway.cache", "result", "revalidated");
+        this.misses = meterRegistry.counter("shareit.gateway.cache", "result", "miss");
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(ServerRequest request) {
+        String resource = resource(request.getPath());
+        if (request.getMethod() != HttpMethod.GET) {
+            return delegate.exchange(request).thenApply(response -> {
+                if (response.getStatusCode().is2xxSuccessful()) {
+                    invalidate(resource);
+                }
+                return response;
+            });
+        }
+        String key = request.key();
+        long requestGeneration;
+        Entry cached;
+        synchronized (entries) {
+            requestGeneration = generation(resource);
+            cached = entries.get(key);
+            if (cached != null && cached.generation != requestGeneration) {
+                removeEntry(key);
+                cached = null;
+            }
+        }
+        if (cached != null && System.currentTimeMillis() - cached.validatedAt < freshForMs
+                && isFreshPath(request.getPath())) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached.response);
+        }
+        Entry validated = cached;
+        ServerRequest upstream = cached == null ? request : request.toBuilder().ifNoneMatch(cached.etag).build();
+        return delegate.exchange(upstream).thenApply(response -> {
+            if (validated != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                revalidations.increment();
+                store(key, resource, validated.response, validated.etag, requestGeneration);
+                return validated.response;
+            }
+            misses.increment();
+            String etag = response.getHeaders().getETag();
+            if (response.getStatusCode() == HttpStatus.OK && etag != null && response.getBody() instanceof byte[]) {
+                store(key, resource, response, etag, requestGeneration);
+            } else {
+                remove(key);
+            }
+            return response;
+        });
+    }
+
+    private boolean isFreshPath(String path) {
+        for (String prefix : freshPaths) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void store(String key, String resource, ResponseEntity<Object> response, String etag,
+                       long requestGeneration) {
+        long weight = ((byte[]) response.getBody()).length + key.length() * 2L + ENTRY_OVERHEAD;
+        synchronized (entries) {
+            if (requestGeneration != generation(resource)) {
+                return;
+            }
+            removeEntry(key);
+            if (weight > maxEntrySize) {
+                return;
+            }
+            entries.put(key, new Entry(response, etag, weight, System.currentTimeMillis(), requestGeneration));
+            size += weight;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (size > maxSize && eldest.hasNext()) {
+                size -= eldest.next().weight;
+                eldest.remove();
+            }
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (entries) {
+            removeEntry(key);
+        }
+    }
+
+    private void removeEntry(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.weight;
+        }
+    }
+
+    /**
+     * Makes the entries of every resource the write can change stale; they are dropped when next
+     * looked up or evicted.
+     */
+    private void invalidate(String written) {
+        synchronized (entries) {
+            List<String> affected = AFFECTED.get(written);
+            if (affected == null) {
+                epoch++;
+                return;
+            }
+            for (String resource : affected) {
+                generations.merge(resource, 1L, Long::sum);
+            }
+        }
+    }
+
+    private long generation(String resource) {
+        return epoch + generations.getOrDefault(resource, 0L);
+    }
+
+    /**
+     * The first path segment, such as {@code /items} for {@code /items/1/comment}.
+     */
+    private static String resource(String path) {
+        int end = path.length();
+        for (int i = 1; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '/' || c == '?') {
+                end = i;
+                break;
+            }
+        }
+        return path.substring(0, end);
+    }
+
+    private static final class Entry {
+
+        private final ResponseEntity<Object> response;
+
+        private final String etag;
+
+        private final long weight;
+
+        private final long validatedAt;
+
+        private final long generation;
+
+        private Entry(ResponseEntity<Object> response, String etag, long weight, long validatedAt, long generation) {
+            this.response = response;
+            this.etag = etag;
+            this.weight = weight;
+            this.validatedAt = validatedAt;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets concurrent identical GETs share one call to the server. Requests are identical when their
+ * {@link ServerRequest#key() keys} match, so a response is shared between users only when
+ * the request carries no user header.
+ */
+public class CoalescingServerTransport implements ServerTransport {
+
+    private final ServerTransport delegate;
+
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+
+    private final Counter followers;
+
+    public CoalescingServerTransport(ServerTransport delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.leaders = meterRegistry.counter("shareit.gateway.coalesce", "result", "sent");
+        this.followers = meterRegistry.counter("shareit.gateway.coalesce", "result", "joined");
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(ServerRequest request) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return delegate.exchange(request);
+        }
+        String key = request.key();
+        CompletableFuture<ResponseEntity<Object>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            followers.increment();
+            return running.copy();
+        }
+        leaders.increment();
+        try {
+            delegate.exchange(request).whenComplete((response, error) -> {
+                inFlight.remove(key, call);
+                if (error != null) {
+                    call.completeExceptionally(error);
+                } else {
+                    call.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+        }
+        return call.copy();
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import java.util.Arrays;
+
+/**
+ * Percentile of the latest response times, recomputed every {@code RECOMPUTE_EVERY} samples.
+ */
+class LatencyTracker {
+
+    private static final int SAMPLES = 1024;
+
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final double percentile;
+
+    private final long[] samples = new long[SAMPLES];
+
+    private int count;
+
+    private int next;
+
+    private volatile long value = -1;
+
+    LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % SAMPLES;
+        count = Math.min(count + 1, SAMPLES);
+        if (next % RECOMPUTE_EVERY == 0) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            value = sorted[Math.min(count - 1, (int) (count * percentile))];
+        }
+    }
+
+    /**
+     * Returns the percentile in nanoseconds, or -1 until enough samples are recorded.
+     */
+    long get() {
+        return value;
+    }
+}
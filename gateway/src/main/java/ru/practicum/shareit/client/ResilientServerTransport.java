@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Isolates server resources (bookings, items, users, requests) from each other: each gets its own
+ * {@link CircuitBreaker} and a semaphore bulkhead capping its concurrent calls. Calls that are
+ * refused or fail in transport complete with {@link ServerUnavailableException}; 5xx responses
+ * count as failures but are passed through. Every call carries a deadline for the server to check;
+ * a rejection for a passed deadline ({@code X-Deadline-Exceeded}) is passed through without counting,
+ * since it says the gateway waited too long rather than that the server is failing.
+ */
+public class ResilientServerTransport implements ServerTransport {
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+    public static final String DEADLINE_EXCEEDED_HEADER = "X-Deadline-Exceeded";
+
+    private final ServerTransport delegate;
+
+    private final ServerResilienceProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    public ResilientServerTransport(ServerTransport delegate, ServerResilienceProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(ServerRequest request) {
+        String resource = resource(request.getPath());
+        Guard guard = guards.computeIfAbsent(resource, this::guard);
+        if (!guard.bulkhead.tryAcquire()) {
+            return reject(resource, "bulkhead", "Too many concurrent calls to " + resource + ".");
+        }
+        if (!guard.breaker.tryAcquire(System.nanoTime())) {
+            guard.bulkhead.release();
+            return reject(resource, "circuit", "Circuit for " + resource + " is open.");
+        }
+        ServerRequest withDeadline = request.getDeadline() != null ? request : request.toBuilder()
+                .deadline(System.currentTimeMillis() + properties.getDeadline().toMillis())
+                .build();
+        CompletableFuture<ResponseEntity<Object>> call;
+        try {
+            call = delegate.exchange(withDeadline);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        call.whenComplete((response, error) -> {
+            guard.bulkhead.release();
+            if (error != null) {
+                guard.breaker.onFailure(System.nanoTime());
+                result.completeExceptionally(new ServerUnavailableException(
+                        "Call to " + resource + " failed.", error));
+                return;
+            }
+            if (response.getHeaders().containsKey(DEADLINE_EXCEEDED_HEADER)) {
+                meterRegistry.counter("shareit.gateway.deadline.exceeded", "resource", resource).increment();
+                guard.breaker.onIgnored();
+            } else if (response.getStatusCode().is5xxServerError()) {
+                guard.breaker.onFailure(System.nanoTime());
+            } else {
+                guard.breaker.onSuccess();
+            }
+            result.complete(response);
+        });
+        return result;
+    }
+
+    private Guard guard(String resource) {
+        Guard guard = new Guard(new CircuitBreaker(properties), new Semaphore(properties.getMaxConcurrentCalls()));
+        meterRegistry.gauge("shareit.gateway.circuit.state", Tags.of("resource", resource), guard.breaker,
+                breaker -> breaker.state().ordinal());
+        return guard;
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> reject(String resource, String reason, String message) {
+        meterRegistry.counter("shareit.gateway.rejected", "resource", resource, "reason", reason).increment();
+        return CompletableFuture.failedFuture(new ServerUnavailableException(message));
+    }
+
+    private static String resource(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = start;
+        while (end < path.length() && path.charAt(end) != '/' && path.charAt(end) != '?') {
+            end++;
+        }
+        return path.substring(start, end);
+    }
+
+    private static final class Guard {
+
+        private final CircuitBreaker breaker;
+
+        private final Semaphore bulkhead;
+
+        private Guard(CircuitBreaker breaker, Semaphore bulkhead) {
+            this.breaker = breaker;
+            this.bulkhead = bulkhead;
+        }
+    }
+}
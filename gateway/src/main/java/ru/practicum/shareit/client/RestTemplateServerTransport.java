@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Blocking transport: the request runs on the calling thread and the returned future is already complete.
+ */
+public class RestTemplateServerTransport implements ServerTransport {
+
+    private final RestTemplate rest;
+
+    public RestTemplateServerTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(ServerRequest request) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(request.getBody(), request.headers());
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(request.uriTemplate(), request.getMethod(), requestEntity,
+                    byte[].class, request.getParameters());
+        } catch (HttpStatusCodeException e) {
+            return CompletableFuture.completedFuture(ServerResponses.passThrough(
+                    e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray()));
+        }
+        return CompletableFuture.completedFuture(ServerResponses.passThrough(
+                shareitServerResponse.getStatusCodeValue(),
+                shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody()));
+    }
+}
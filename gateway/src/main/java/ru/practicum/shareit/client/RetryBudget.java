@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Allows a burst of {@code min} extra attempts and after that extra attempts worth {@code ratio}
+ * of the calls made: every call deposits {@code ratio} of a token and every retry or hedge
+ * withdraws a whole one, so a failing server cannot turn into a retry storm.
+ */
+class RetryBudget {
+
+    private final double ratio;
+
+    private final double max;
+
+    private double tokens;
+
+    RetryBudget(double ratio, int min) {
+        this.ratio = ratio;
+        this.max = Math.max(min, 1);
+        this.tokens = max;
+    }
+
+    synchronized void deposit() {
+        tokens = Math.min(max, tokens + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
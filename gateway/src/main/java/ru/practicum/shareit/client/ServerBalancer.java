@@ -0,0 +1,158 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the server node for each call: the available node with the fewest calls in flight, or,
+ * with user affinity on, the user's rendezvous-hashed node while it is not overloaded. Nodes are
+ * health-checked in the background and ejected for a while after repeated errors or slow answers.
+ * When no node is available every node is used, so the gateway keeps trying rather than failing all calls.
+ * <p>
+ * Each server node keeps its own in-memory views: item search, last/next bookings, the user cache and the
+ * email index. Overlapping approvals and duplicate emails are still refused through the database, but with
+ * several nodes these views can lag behind writes made on other nodes, so balancing is opt-in.
+ */
+@Slf4j
+public class ServerBalancer implements AutoCloseable {
+
+    private final List<ServerNode> nodes = new ArrayList<>();
+
+    private final ServerBalancerProperties properties;
+
+    private final HttpClient healthClient;
+
+    private final ScheduledExecutorService healthChecks;
+
+    public ServerBalancer(List<String> urls, ServerBalancerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (String url : urls) {
+            ServerNode node = new ServerNode(url.endsWith("/") ? url.substring(0, url.length() - 1) : url);
+            nodes.add(node);
+            meterRegistry.gauge("shareit.gateway.node.outstanding", Tags.of("node", node.getUrl()), node,
+                    ServerNode::getOutstanding);
+            meterRegistry.gauge("shareit.gateway.node.available", Tags.of("node", node.getUrl()), node,
+                    n -> n.isAvailable() ? 1 : 0);
+        }
+        this.healthClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getHealthTimeout())
+                .build();
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "server-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (nodes.size() > 1) {
+            long interval = properties.getHealthInterval().toMillis();
+            healthChecks.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Picks a node for the call, avoiding {@code excluded} when another node can take it.
+     */
+    ServerNode choose(Long userId, ServerNode excluded) {
+        List<ServerNode> candidates = new ArrayList<>(nodes.size());
+        for (ServerNode node : nodes) {
+            if (node != excluded && node.isAvailable()) {
+                candidates.add(node);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (ServerNode node : nodes) {
+                if (node != excluded) {
+                    candidates.add(node);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return excluded;
+        }
+        if (properties.isUserAffinity() && userId != null) {
+            ServerNode preferred = rendezvous(candidates, userId);
+            if (preferred.getOutstanding() < properties.getAffinityMaxOutstanding()) {
+                return preferred;
+            }
+        }
+        return leastOutstanding(candidates);
+    }
+
+    /**
+     * Url of a node for calls that bypass the transport chain and its in-flight accounting.
+     */
+    public String nodeUrl() {
+        return choose(null, null).getUrl();
+    }
+
+    void onResponse(ServerNode node, boolean failed, long startedAt) {
+        boolean slow = System.nanoTime() - startedAt > properties.getSlowResponse().toNanos();
+        node.finish(failed || slow, properties.getEjectAfterFailures(), properties.getEjectionTime().toMillis());
+    }
+
+    @Override
+    public void close() {
+        healthChecks.shutdownNow();
+    }
+
+    private void checkHealth() {
+        for (ServerNode node : nodes) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(node.getUrl() + properties.getHealthPath()))
+                    .timeout(properties.getHealthTimeout())
+                    .GET()
+                    .build();
+            healthClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        boolean healthy = error == null && response.statusCode() / 100 == 2;
+                        if (healthy != node.isHealthy()) {
+                            log.warn("Server node {} is {}.", node.getUrl(), healthy ? "healthy again" : "unhealthy");
+                        }
+                        node.setHealthy(healthy);
+                    });
+        }
+    }
+
+    private static ServerNode leastOutstanding(List<ServerNode> candidates) {
+        int start = ThreadLocalRandom.current().nextInt(candidates.size());
+        ServerNode best = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            ServerNode node = candidates.get((start + i) % candidates.size());
+            if (best == null || node.getOutstanding() < best.getOutstanding()) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    private static ServerNode rendezvous(List<ServerNode> candidates, long userId) {
+        ServerNode best = null;
+        long bestWeight = Long.MIN_VALUE;
+        for (ServerNode node : candidates) {
+            long weight = mix(node.getUrl().hashCode() * 31L + userId);
+            if (best == null || weight > bestWeight) {
+                best = node;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb3f97a4ced63L;
+        return value ^ value >>> 33;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server nodes and the health checking, affinity and ejection rules used to choose between them.
+ * Without {@code nodes} the gateway talks to {@code shareit-server.url} alone.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.balancer")
+public class ServerBalancerProperties {
+
+    private List<String> nodes = new ArrayList<>();
+
+    private String healthPath = "/actuator/health";
+
+    private Duration healthInterval = Duration.ofSeconds(5);
+
+    private Duration healthTimeout = Duration.ofSeconds(1);
+
+    private boolean userAffinity = false;
+
+    private int affinityMaxOutstanding = 50;
+
+    private int ejectAfterFailures = 5;
+
+    private Duration slowResponse = Duration.ofSeconds(2);
+
+    private Duration ejectionTime = Duration.ofSeconds(30);
+}
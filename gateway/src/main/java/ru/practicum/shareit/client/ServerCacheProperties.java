@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings of the gateway cache for server GET responses. Only paths starting with one of
+ * {@code fresh-paths} are served from the cache for {@code fresh-for} without asking the server;
+ * booking lists and item views depend on the current time, so they are always revalidated.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ServerCacheProperties {
+
+    private boolean enabled = true;
+
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+
+    private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+
+    private Duration freshFor = Duration.ofSeconds(1);
+
+    private List<String> freshPaths = List.of("/users", "/requests");
+}
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link ServerTransport} shared by every {@link BaseClient}. {@code shareit-server.transport}
+ * selects a blocking pooled Apache client or a non-blocking Reactor Netty client; both use the same
+ * connection limits and timeouts from {@link ServerHttpProperties}, and may ask the server for Smile
+ * through the {@link SmileServerTransport}. Calls are spread over the server nodes by the
+ * {@link BalancingServerTransport}, which is always wrapped in the
+ * {@link ResilientServerTransport} and, unless disabled, in the {@link CoalescingServerTransport}
+ * and the {@link CachingServerTransport}.
+ */
+@Configuration
+@EnableConfigurationProperties({
+        ServerHttpProperties.class,
+        ServerCacheProperties.class,
+        ServerResilienceProperties.class,
+        ServerBalancerProperties.class,
+        ServerRetryProperties.class
+})
+public class ServerHttpConfig {
+
+    @Bean(destroyMethod = "close")
+    public ServerBalancer serverBalancer(@Value("${shareit-server.url}") String serverUrl,
+                                         ServerBalancerProperties balancerProperties,
+                                         MeterRegistry meterRegistry) {
+        List<String> nodes = balancerProperties.getNodes().isEmpty()
+                ? List.of(serverUrl)
+                : balancerProperties.getNodes();
+        return new ServerBalancer(nodes, balancerProperties, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public AttemptExecutors serverAttemptExecutors(ServerRetryProperties retryProperties) {
+        return new AttemptExecutors(retryProperties.getAttemptThreads(), retryProperties.getAttemptQueue());
+    }
+
+    @Bean
+    @Primary
+    public ServerTransport serverTransport(@Qualifier("upstreamServerTransport") ServerTransport upstream,
+                                           ServerBalancer serverBalancer,
+                                           ServerHttpProperties properties,
+                                           ServerCacheProperties cacheProperties,
+                                           ServerResilienceProperties resilienceProperties,
+                                           ServerRetryProperties retryProperties,
+                                           AttemptExecutors serverAttemptExecutors,
+                                           MeterRegistry meterRegistry) {
+        ServerTransport transport = properties.getWireFormat() == ServerHttpProperties.WireFormat.SMILE
+                ? new SmileServerTransport(upstream)
+                : upstream;
+        transport = new BalancingServerTransport(transport, serverBalancer, retryProperties,
+                serverAttemptExecutors, meterRegistry);
+        transport = new ResilientServerTransport(transport, resilienceProperties, meterRegistry);
+        if (properties.isCoalesceGets()) {
+            transport = new CoalescingServerTransport(transport, meterRegistry);
+        }
+        if (cacheProperties.isEnabled()) {
+            transport = new CachingServerTransport(transport, cacheProperties, meterRegistry);
+        }
+        return transport;
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "shareit-server.transport", havingValue = "blocking", matchIfMissing = true)
+    static class Blocking {
+
+        @Bean
+        public PoolingHttpClientConnectionManager serverConnectionManager(ServerHttpProperties properties) {
+            PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+            manager.setMaxTotal(properties.getMaxTotal());
+            manager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+            manager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+            return manager;
+        }
+
+        @Bean(destroyMethod = "close")
+        public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                    ServerHttpProperties properties) {
+            RequestConfig requestConfig = RequestConfig.custom()
+                    .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                    .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                    .setConnectionRequestTimeout((int) properties.getPoolTimeout().toMillis())
+                    .build();
+            return HttpClients.custom()
+                    .setConnectionManager(serverConnectionManager)
+                    .setDefaultRequestConfig(requestConfig)
+                    .setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+                    .evictExpiredConnections()
+                    .evictIdleConnections(properties.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS)
+                    .build();
+        }
+
+        @Bean
+        public ClientHttpRequestFactory serverRequestFactory(CloseableHttpClient serverHttpClient) {
+            return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+        }
+
+        @Bean
+        public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, "shareit-server");
+        }
+
+        @Bean
+        public ServerTransport upstreamServerTransport(RestTemplateBuilder builder,
+                                                       ClientHttpRequestFactory serverRequestFactory) {
+            return new RestTemplateServerTransport(
+                    builder
+                            .requestFactory(() -> serverRequestFactory)
+                            .build()
+            );
+        }
+
+        /**
+         * Honours the server's Keep-Alive header and otherwise keeps connections for the configured time.
+         */
+        private static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAliveMs) {
+            return (response, context) -> {
+                long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                        .getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMs) : keepAliveMs;
+            };
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "shareit-server.transport", havingValue = "reactive")
+    static class Reactive {
+
+        @Bean(destroyMethod = "dispose")
+        public ConnectionProvider serverConnectionProvider(ServerHttpProperties properties) {
+            return ConnectionProvider.builder("shareit-server")
+                    .maxConnections(properties.getMaxTotal())
+                    .pendingAcquireTimeout(properties.getPoolTimeout())
+                    .maxIdleTime(properties.getKeepAlive())
+                    .evictInBackground(properties.getIdleEviction())
+                    .metrics(true)
+                    .build();
+        }
+
+        @Bean
+        public ServerTransport upstreamServerTransport(WebClient.Builder builder,
+                                                       ConnectionProvider serverConnectionProvider,
+                                                       ServerHttpProperties properties) {
+            HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                    .responseTimeout(properties.getReadTimeout());
+            return new WebClientServerTransport(
+                    builder
+                            .clientConnector(new ReactorClientHttpConnector(httpClient))
+                            .codecs(codecs -> codecs.defaultCodecs()
+                                    .maxInMemorySize((int) properties.getMaxBodySize().toBytes()))
+                            .build()
+            );
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and timeout settings shared by all clients of the shareit server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ServerHttpProperties {
+
+    private int maxTotal = 200;
+
+    private int maxPerRoute = 100;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    private Duration poolTimeout = Duration.ofSeconds(1);
+
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    private Duration idleEviction = Duration.ofSeconds(30);
+
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    private DataSize maxBodySize = DataSize.ofMegabytes(16);
+
+    private boolean coalesceGets = true;
+
+    private WireFormat wireFormat = WireFormat.JSON;
+
+    /**
+     * Format of server response bodies: SMILE is several times smaller on the wire, but the gateway
+     * has to turn it back into JSON for its clients.
+     */
+    public enum WireFormat {
+        JSON,
+        SMILE
+    }
+}
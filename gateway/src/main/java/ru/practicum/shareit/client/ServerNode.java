@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One server instance with its in-flight call count and health. A node is available when its last
+ * health check passed and it is not ejected for recent failures.
+ */
+class ServerNode {
+
+    private final String url;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile boolean healthy = true;
+
+    private volatile long ejectedUntil;
+
+    private int ejections;
+
+    ServerNode(String url) {
+        this.url = url;
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    int getOutstanding() {
+        return outstanding.get();
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    boolean isAvailable() {
+        return healthy && System.currentTimeMillis() >= ejectedUntil;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    void start() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    void finish(boolean failed, int ejectAfterFailures, long ejectionMillis) {
+        outstanding.decrementAndGet();
+        if (!failed) {
+            consecutiveFailures.set(0);
+            synchronized (this) {
+                ejections = 0;
+            }
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= ejectAfterFailures) {
+            consecutiveFailures.set(0);
+            synchronized (this) {
+                ejections = Math.min(ejections + 1, 10);
+                ejectedUntil = System.currentTimeMillis() + ejectionMillis * ejections;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One call to the shareit server: a uri template relative to the server node with its variables.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class ServerRequest {
+
+    private final HttpMethod method;
+
+    private final String path;
+
+    @Nullable
+    private final Long userId;
+
+    @Nullable
+    private final Map<String, Object> parameters;
+
+    @Nullable
+    private final Object body;
+
+    @Nullable
+    private final String ifNoneMatch;
+
+    @Nullable
+    private final Long deadline;
+
+    @Nullable
+    private final String node;
+
+    @Nullable
+    private final MediaType accept;
+
+    public Map<String, Object> getParameters() {
+        return parameters == null ? Map.of() : parameters;
+    }
+
+    /**
+     * Identifies requests that get the same response: the user is part of it whenever the header is sent.
+     */
+    public String key() {
+        return method + " " + userId + " " + path + " " + new TreeMap<>(getParameters()) + " " + ifNoneMatch;
+    }
+
+    public String uriTemplate() {
+        return node == null ? path : node + path;
+    }
+
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(accept == null ? MediaType.APPLICATION_JSON : accept));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        if (deadline != null) {
+            headers.set(ResilientServerTransport.DEADLINE_HEADER, String.valueOf(deadline));
+        }
+        return headers;
+    }
+}
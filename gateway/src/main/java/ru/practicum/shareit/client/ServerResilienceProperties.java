@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker, bulkhead and deadline settings, applied to each server resource separately.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ServerResilienceProperties {
+
+    private int failureRateThreshold = 50;
+
+    private int windowSize = 20;
+
+    private int minimumCalls = 10;
+
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    private int halfOpenCalls = 3;
+
+    private int maxConcurrentCalls = 50;
+
+    private Duration deadline = Duration.ofSeconds(10);
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds gateway responses from the server's raw bytes, so bodies are never parsed and re-serialized.
+ */
+@UtilityClass
+public class ServerResponses {
+
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection",
+            "keep-alive",
+            "proxy-authenticate",
+            "proxy-authorization",
+            "te",
+            "trailer",
+            "transfer-encoding",
+            "upgrade"
+    );
+
+    public static ResponseEntity<Object> passThrough(int status, @Nullable HttpHeaders headers, @Nullable byte[] body) {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    responseHeaders.addAll(name, values);
+                }
+            });
+        }
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(responseHeaders);
+        return body == null ? responseBuilder.build() : responseBuilder.body(body);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Retries after transport failures and hedging of slow GETs. Both spend from one budget that grows
+ * by {@code budget-ratio} per request, so extra attempts stay a bounded share of the traffic. They run
+ * on a pool of {@code attempt-threads} with a queue of {@code attempt-queue}; an extra attempt that
+ * finds both full is dropped.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.retry")
+public class ServerRetryProperties {
+
+    private int maxAttempts = 2;
+
+    private Duration backoff = Duration.ofMillis(50);
+
+    private Duration maxBackoff = Duration.ofSeconds(1);
+
+    private double budgetRatio = 0.1;
+
+    private int budgetMin = 10;
+
+    private boolean hedge = false;
+
+    private double hedgePercentile = 0.95;
+
+    private Duration hedgeMinDelay = Duration.ofMillis(20);
+
+    private int attemptThreads = 16;
+
+    private int attemptQueue = 256;
+}
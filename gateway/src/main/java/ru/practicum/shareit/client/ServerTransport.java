@@ -0,0 +1,14 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends requests to the shareit server. Error responses of the server complete the future
+ * normally with the server status and raw body; only transport failures complete it exceptionally.
+ */
+public interface ServerTransport {
+
+    CompletableFuture<ResponseEntity<Object>> exchange(ServerRequest request);
+}
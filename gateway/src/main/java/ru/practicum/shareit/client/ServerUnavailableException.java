@@ -0,0 +1,11 @@
+package ru.practicum.shareit.client;
+
+public class ServerUnavailableException extends RuntimeException {
+    public ServerUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asks the server for Smile instead of JSON and streams each Smile body back into JSON token by token,
+ * so the internal hop carries fewer bytes while the gateway's clients still get JSON. Cancelling the
+ * returned future cancels the upstream call, so a losing hedge does not keep its connection busy.
+ */
+public class SmileServerTransport implements ServerTransport {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ServerTransport delegate;
+
+    private final SmileFactory smileFactory = new SmileFactory();
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public SmileServerTransport(ServerTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(ServerRequest request) {
+        CompletableFuture<ResponseEntity<Object>> upstream =
+                delegate.exchange(request.toBuilder().accept(APPLICATION_SMILE).build());
+        CompletableFuture<ResponseEntity<Object>> result = upstream.thenApply(this::toJson);
+        result.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                upstream.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private ResponseEntity<Object> toJson(ResponseEntity<Object> response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        if (!(response.getBody() instanceof byte[]) || contentType == null
+                || !contentType.isCompatibleWith(APPLICATION_SMILE)) {
+            return response;
+        }
+        byte[] smile = (byte[]) response.getBody();
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 3);
+        try (JsonParser parser = smileFactory.createParser(smile);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            if (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable Smile response from the server.", e);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        return ResponseEntity.status(response.getStatusCodeValue()).headers(headers).body(json.toByteArray());
+    }
+}
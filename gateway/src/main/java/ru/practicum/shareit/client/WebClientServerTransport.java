@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking transport on Reactor Netty: no thread waits while the server handles the request.
+ */
+public class WebClientServerTransport implements ServerTransport {
+
+    private final WebClient webClient;
+
+    public WebClientServerTransport(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(ServerRequest request) {
+        WebClient.RequestBodySpec bodySpec = webClient
+                .method(request.getMethod())
+                .uri(request.uriTemplate(), request.getParameters())
+                .headers(headers -> headers.addAll(request.headers()));
+        WebClient.RequestHeadersSpec<?> spec = request.getBody() == null
+                ? bodySpec
+                : bodySpec.bodyValue(request.getBody());
+        return spec.exchangeToMono(WebClientServerTransport::toGatewayResponse).toFuture();
+    }
+
+    private static Mono<ResponseEntity<Object>> toGatewayResponse(ClientResponse response) {
+        return response.toEntity(byte[].class)
+                .map(entity -> ServerResponses.passThrough(
+                        entity.getStatusCodeValue(), entity.getHeaders(), entity.getBody()));
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.client.ServerUnavailableException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -45,4 +46,14 @@ public final class ErrorController {
                 e.getMessage(),
                 LocalDateTime.now().withNano(0));
     }
+
+    @ExceptionHandler(ServerUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServerUnavailable(final ServerUnavailableException e) {
+        log.warn(e.getMessage(), e.getCause());
+        return new ErrorResponse("SERVICE_UNAVAILABLE",
+                503,
+                e.getMessage(),
+                LocalDateTime.now().withNano(0));
+    }
 }
@@ -1,37 +1,30 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransport serverTransport) {
+        super(serverTransport, API_PREFIX);
     }
 
-    public ResponseEntity<Object> itemById(int itemId, int userId) {
+    public CompletableFuture<ResponseEntity<Object>> itemById(int itemId, int userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> allItemsByOwner(long ownerId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> allItemsByOwner(long ownerId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -39,19 +32,19 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> searchItem(String text, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> searchItem(String text, Integer from, Integer size) {
         return get("/search?text=" + text + "&from=" + from + "&size=" + size);
     }
 
-    public ResponseEntity<Object> createItem(ItemDto itemDto, int ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(ItemDto itemDto, int ownerId) {
         return post("", ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(ItemDto itemDto, int itemId, int ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(ItemDto itemDto, int itemId, int ownerId) {
         return patch("/" + itemId, ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> addComment(CommentDto commentDto, int itemId, int userId) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(CommentDto commentDto, int itemId, int userId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 }
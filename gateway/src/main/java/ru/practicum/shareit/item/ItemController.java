@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -35,47 +36,47 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> itemById(@Positive @PathVariable int itemId,
-                                           @Positive @RequestHeader(USER_ID) int userId) {
+    public CompletableFuture<ResponseEntity<Object>> itemById(@Positive @PathVariable int itemId,
+                                                              @Positive @RequestHeader(USER_ID) int userId) {
         log.info("Получен GET-запрос к эндпоинту /items/{itemId} на получение вещи по id.");
         return itemClient.itemById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> allItemsByOwner(@Positive @RequestHeader(USER_ID) int ownerId,
-                                                  @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                  @Positive @RequestParam(defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity<Object>> allItemsByOwner(@Positive @RequestHeader(USER_ID) int ownerId,
+                                                                     @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                     @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Получен GET-запрос к эндпоинту /items на получение всех вещей владельца по id.");
         return itemClient.allItemsByOwner(ownerId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(@RequestParam String text,
-                                             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                             @Positive @RequestParam(defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity<Object>> searchItem(@RequestParam String text,
+                                                                @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Получен GET-запрос к эндпоинту /items/search на поиск вещи.");
         return itemClient.searchItem(text, from, size);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@Validated(BasicUserInfo.class) @RequestBody ItemDto itemDto,
-                                             @Positive @RequestHeader(USER_ID) int ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(@Validated(BasicUserInfo.class) @RequestBody ItemDto itemDto,
+                                                                @Positive @RequestHeader(USER_ID) int ownerId) {
         log.info("Получен POST-запрос к эндпоинту /items на добавление вещи.");
         return itemClient.createItem(itemDto, ownerId);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestBody ItemDto itemDto,
-                                             @Positive @PathVariable int itemId,
-                                             @Positive @RequestHeader(USER_ID) int ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@RequestBody ItemDto itemDto,
+                                                                @Positive @PathVariable int itemId,
+                                                                @Positive @RequestHeader(USER_ID) int ownerId) {
         log.info("Получен PATCH-запрос к эндпоинту /items/{itemId} на обновление вещи по id.");
         return itemClient.updateItem(itemDto, itemId, ownerId);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@Valid @RequestBody CommentDto commentDto,
-                                             @Positive @PathVariable int itemId,
-                                             @Positive @RequestHeader(USER_ID) int userId) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(@Valid @RequestBody CommentDto commentDto,
+                                                                @Positive @PathVariable int itemId,
+                                                                @Positive @RequestHeader(USER_ID) int userId) {
         log.info("Получен POST-запрос к эндпоинту /items/{itemId}/comment на добавление комментария.");
         return itemClient.addComment(commentDto, itemId, userId);
     }
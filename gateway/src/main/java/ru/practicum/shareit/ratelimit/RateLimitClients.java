@@ -0,0 +1,38 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.UUID;
+
+import static ru.practicum.shareit.tool.Headers.USER_ID;
+
+/**
+ * Tells rate-limited clients apart: by {@code X-Sharer-User-Id}, or by address when the header is absent.
+ * Requests the gateway makes to itself on a client's behalf carry that client's key in
+ * {@link #HEADER}, prefixed with a token known only to this process, so they are charged to the client
+ * rather than to the loopback address.
+ */
+@Component
+public class RateLimitClients {
+
+    public static final String HEADER = "X-Rate-Limit-Client";
+
+    private final String token = UUID.randomUUID().toString();
+
+    public String key(HttpServletRequest request) {
+        String forwarded = request.getHeader(HEADER);
+        if (forwarded != null && forwarded.startsWith(token + ":")) {
+            return forwarded.substring(token.length() + 1);
+        }
+        String userId = request.getHeader(USER_ID);
+        return userId != null ? "user:" + userId : "addr:" + request.getRemoteAddr();
+    }
+
+    /**
+     * The {@link #HEADER} value for a request made on behalf of the client of {@code request}.
+     */
+    public String forward(HttpServletRequest request) {
+        return token + ":" + key(request);
+    }
+}
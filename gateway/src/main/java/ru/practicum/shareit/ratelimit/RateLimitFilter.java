@@ -0,0 +1,80 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.error.ErrorResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects a client's request with 429 and {@code Retry-After} once its read or write budget is spent.
+ * Clients are told apart by {@link RateLimitClients}. A batch is not charged itself; each of its requests
+ * is charged to the batch's client as it is made.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    private final RateLimitClients clients;
+
+    private final RateLimitProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitClients clients, RateLimitProperties properties,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.clients = clients;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !properties.isEnabled() || uri.startsWith("/actuator") || uri.equals("/batch");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clients.key(request);
+        boolean write = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+        long waitNanos = rateLimiter.tryAcquire(client, write);
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        meterRegistry.counter("shareit.gateway.throttled", "kind", write ? "write" : "read").increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.warn("Throttled {} {} for {}, retry after {}s.", request.getMethod(), request.getRequestURI(), client,
+                retryAfter);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                "TOO_MANY_REQUESTS",
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                String.format("Rate limit exceeded, retry after %d s.", retryAfter),
+                LocalDateTime.now().withNano(0)));
+    }
+}
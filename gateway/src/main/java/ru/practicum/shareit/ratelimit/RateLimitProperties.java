@@ -0,0 +1,52 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+/**
+ * Per-user request budgets of the gateway. Reads are GET and HEAD requests, everything else is a write.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+@Validated
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    @Valid
+    @NotNull
+    private Budget read = new Budget(100, 50);
+
+    @Valid
+    @NotNull
+    private Budget write = new Budget(20, 5);
+
+    @Positive
+    private int maxBuckets = 100_000;
+
+    @Getter
+    @Setter
+    public static class Budget {
+
+        @Positive
+        private int capacity;
+
+        @Positive
+        private double refillPerSecond;
+
+        public Budget() {
+        }
+
+        public Budget(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
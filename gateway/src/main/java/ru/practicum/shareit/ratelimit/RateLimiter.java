@@ -0,0 +1,70 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Token buckets per client and request kind. The table is bounded by {@code max-buckets}: when it is
+ * full, full buckets are dropped first since a new bucket behaves the same, then arbitrary ones.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        TokenBucket.validate(properties.getRead().getCapacity(), properties.getRead().getRefillPerSecond());
+        TokenBucket.validate(properties.getWrite().getCapacity(), properties.getWrite().getRefillPerSecond());
+        this.properties = properties;
+    }
+
+    /**
+     * Returns 0 when the request may pass, otherwise the nanoseconds the client should wait.
+     */
+    public long tryAcquire(String client, boolean write) {
+        RateLimitProperties.Budget budget = write ? properties.getWrite() : properties.getRead();
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key(client, write));
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                sweep(now);
+            }
+            bucket = buckets.computeIfAbsent(key(client, write),
+                    key -> new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+            int target = properties.getMaxBuckets() * 9 / 10;
+            Iterator<TokenBucket> iterator = buckets.values().iterator();
+            while (buckets.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static String key(String client, boolean write) {
+        return (write ? "w:" : "r:") + client;
+    }
+}
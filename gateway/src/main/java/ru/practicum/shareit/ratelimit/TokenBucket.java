@@ -0,0 +1,61 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single theoretical arrival time (the GCRA form): a request is
+ * allowed while that time is no more than one burst ahead of now, and each request moves it one
+ * emission interval forward. A bucket whose arrival time has passed is full.
+ */
+class TokenBucket {
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private static final long MAX_BURST_NANOS = Long.MAX_VALUE / 4;
+
+    private final AtomicLong arrival;
+
+    TokenBucket(int capacity, double refillPerSecond, long now) {
+        validate(capacity, refillPerSecond);
+        this.intervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = intervalNanos * (capacity - 1L);
+        this.arrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token and returns 0, or returns the nanoseconds until a token is available.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = arrival.get();
+            long start = Math.max(current, now);
+            long wait = start - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isFull(long now) {
+        return arrival.get() <= now;
+    }
+
+    /**
+     * Rejects budgets whose emission interval or burst would not fit the nanosecond arithmetic.
+     */
+    static void validate(int capacity, double refillPerSecond) {
+        if (capacity < 1 || !(refillPerSecond > 0)) {
+            throw new IllegalArgumentException(String.format(
+                    "Rate limit budget needs a positive capacity and refill, got %d and %s.", capacity, refillPerSecond));
+        }
+        if (1_000_000_000d / refillPerSecond * capacity > MAX_BURST_NANOS) {
+            throw new IllegalArgumentException(String.format(
+                    "Rate limit refill of %s per second is too slow for a capacity of %d.", refillPerSecond, capacity));
+        }
+    }
+}
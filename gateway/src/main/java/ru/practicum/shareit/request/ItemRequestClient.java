@@ -1,40 +1,33 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerTransport serverTransport) {
+        super(serverTransport, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createItemRequest(ItemRequestDto requestDto, int requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(ItemRequestDto requestDto, int requesterId) {
         return post("", requesterId, requestDto);
     }
 
-    public ResponseEntity<Object> getItemRequestsByOwnerId(int requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestsByOwnerId(int requesterId) {
         return get("", requesterId);
     }
 
-    public ResponseEntity<Object> allItemRequests(long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> allItemRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +35,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> itemRequestById(int requestId, int requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> itemRequestById(int requestId, int requesterId) {
         return get("/" + requestId, requesterId);
     }
 }
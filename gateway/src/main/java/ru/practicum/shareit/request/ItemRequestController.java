@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -22,7 +23,6 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import static ru.practicum.shareit.tool.Headers.USER_ID;
 
-
 @Controller
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
@@ -32,29 +32,29 @@ public class ItemRequestController {
     private final ItemRequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@Valid @RequestBody ItemRequestDto requestDto,
-                                                    @Positive @RequestHeader(USER_ID) int requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(@Valid @RequestBody ItemRequestDto requestDto,
+                                                                       @Positive @RequestHeader(USER_ID) int requesterId) {
         log.info("Получен POST-запрос к эндпоинту /requests на создание запроса вещи.");
         return requestClient.createItemRequest(requestDto, requesterId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemRequestsByOwnerId(@Positive @RequestHeader(USER_ID) int requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestsByOwnerId(@Positive @RequestHeader(USER_ID) int requesterId) {
         log.info("Получен GET-запрос к эндпоинту /requests на получение списка собственных запросов на вещи.");
         return requestClient.getItemRequestsByOwnerId(requesterId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> allItemRequests(@RequestHeader(USER_ID) int userId,
-                                                  @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                  @Positive @RequestParam(defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity<Object>> allItemRequests(@RequestHeader(USER_ID) int userId,
+                                                                     @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                     @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Получен GET-запрос к эндпоинту /requests/all на получение списка запросов на вещи.");
         return requestClient.allItemRequests(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> itemRequestById(@Positive @PathVariable int requestId,
-                                                  @Positive @RequestHeader(USER_ID) int requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> itemRequestById(@Positive @PathVariable int requestId,
+                                                                     @Positive @RequestHeader(USER_ID) int requesterId) {
         log.info("Получен GET-запрос к эндпоинту /requests/{requestId} на получение запроса на вещь по id.");
         return requestClient.itemRequestById(requestId, requesterId);
     }
@@ -22,6 +22,8 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.constraints.Positive;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -32,32 +34,32 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> userById(@Positive @PathVariable int userId) {
+    public CompletableFuture<ResponseEntity<Object>> userById(@Positive @PathVariable int userId) {
         log.info("Получен GET-запрос к эндпоинту /users/{userId} на получение пользователя по id.");
         return userClient.userById(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> allUsers() {
+    public CompletableFuture<ResponseEntity<Object>> allUsers() {
         log.info("Получен GET-запрос к эндпоинту /users на получение всех пользователей.");
         return userClient.allUsers();
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Validated({ BasicInfo.class, EmailInfo.class }) @RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@Validated({ BasicInfo.class, EmailInfo.class }) @RequestBody UserDto userDto) {
         log.info("Получен POST-запрос к эндпоинту /users на добавление пользователя.");
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody @Validated({ PatchInfo.class }) UserDto userDto,
-                                             @Positive @PathVariable int userId) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@RequestBody @Validated({ PatchInfo.class }) UserDto userDto,
+                                                                @Positive @PathVariable int userId) {
         log.info("Получен PATCH-запрос к эндпоинту /users/{userId} на обновление пользователя по id.");
         return userClient.updateUser(userDto, userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@Positive @PathVariable int userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(@Positive @PathVariable int userId) {
         log.info("Получен DELETE-запрос к эндпоинту /users/{userId} на удаление пользователя.");
         return userClient.deleteUser(userId);
     }
@@ -0,0 +1,176 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BalancingServerTransportTest {
+
+    private static final List<String> NODES = List.of("http://node-a", "http://node-b");
+
+    private final List<ServerRequest> sent = new CopyOnWriteArrayList<>();
+
+    private ServerRetryProperties retryProperties;
+
+    private ServerBalancer balancer;
+
+    private AttemptExecutors executors;
+
+    @BeforeEach
+    public void setup() {
+        ServerBalancerProperties balancerProperties = new ServerBalancerProperties();
+        balancerProperties.setHealthInterval(Duration.ofHours(1));
+        balancer = new ServerBalancer(NODES, balancerProperties, new SimpleMeterRegistry());
+        retryProperties = new ServerRetryProperties();
+        retryProperties.setBackoff(Duration.ofMillis(1));
+        retryProperties.setMaxBackoff(Duration.ofMillis(1));
+        executors = new AttemptExecutors(2, 16);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        balancer.close();
+        executors.close();
+    }
+
+    @Test
+    public void testExchange_RetryRunsOnAttemptExecutor() throws Exception {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        exchange(HttpMethod.GET, request -> {
+            threads.add(Thread.currentThread().getName());
+            return sent.size() == 1 ? failed(new IllegalStateException("reset")) : ok();
+        });
+
+        assertEquals(2, threads.size());
+        assertTrue(threads.get(1).startsWith("server-attempt-"), threads.get(1));
+    }
+
+    @Test
+    public void testExchange_GetIsRetriedOnAnotherNode() throws Exception {
+        ResponseEntity<Object> response = exchange(HttpMethod.GET, request ->
+                sent.size() == 1 ? failed(new IllegalStateException("reset")) : ok());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, sent.size());
+        assertNotEquals(sent.get(0).getNode(), sent.get(1).getNode());
+        assertNoCallsInFlight();
+    }
+
+    @Test
+    public void testExchange_PostIsNotRetriedOnceConnected() throws Exception {
+        ExecutionException error = assertThrows(ExecutionException.class, () ->
+                exchange(HttpMethod.POST, request -> failed(new IllegalStateException("reset"))));
+
+        assertTrue(error.getCause() instanceof IllegalStateException);
+        assertEquals(1, sent.size());
+        assertNoCallsInFlight();
+    }
+
+    @Test
+    public void testExchange_PostIsRetriedWhenConnectionWasRefused() throws Exception {
+        ResponseEntity<Object> response = exchange(HttpMethod.POST, request ->
+                sent.size() == 1 ? failed(new IllegalStateException(new ConnectException("refused"))) : ok());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testExchange_RetriesStopWhenBudgetIsSpent() throws Exception {
+        retryProperties.setBudgetRatio(0);
+        retryProperties.setBudgetMin(1);
+        retryProperties.setMaxAttempts(3);
+        BalancingServerTransport transport = transport(request -> failed(new IllegalStateException("reset")));
+
+        assertThrows(ExecutionException.class, () -> transport.exchange(get(HttpMethod.GET)).get(5, TimeUnit.SECONDS));
+        assertEquals(2, sent.size());
+
+        sent.clear();
+        assertThrows(ExecutionException.class, () -> transport.exchange(get(HttpMethod.GET)).get(5, TimeUnit.SECONDS));
+        assertEquals(1, sent.size());
+        assertNoCallsInFlight();
+    }
+
+    @Test
+    public void testExchange_SlowGetIsHedgedAndLoserCancelled() throws Exception {
+        retryProperties.setHedge(true);
+        retryProperties.setHedgeMinDelay(Duration.ofMillis(10));
+        CompletableFuture<ResponseEntity<Object>> slow = new CompletableFuture<>();
+
+        ResponseEntity<Object> response = exchange(HttpMethod.GET, request -> sent.size() == 1 ? slow : ok());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, sent.size());
+        assertNotEquals(sent.get(0).getNode(), sent.get(1).getNode());
+        assertNoCallsInFlight();
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    public void testExchange_LastErrorCompletesCallAfterAllAttempts() throws Exception {
+        IllegalStateException last = new IllegalStateException("second");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> exchange(HttpMethod.GET, request ->
+                failed(sent.size() == 1 ? new IllegalStateException("first") : last)));
+
+        assertSame(last, error.getCause());
+        assertEquals(2, sent.size());
+        assertNoCallsInFlight();
+    }
+
+    private ResponseEntity<Object> exchange(HttpMethod method,
+                                           Function<ServerRequest, CompletableFuture<ResponseEntity<Object>>> upstream)
+            throws Exception {
+        return transport(upstream).exchange(get(method)).get(5, TimeUnit.SECONDS);
+    }
+
+    private BalancingServerTransport transport(
+            Function<ServerRequest, CompletableFuture<ResponseEntity<Object>>> upstream) {
+        return new BalancingServerTransport(request -> {
+            sent.add(request);
+            return upstream.apply(request);
+        }, balancer, retryProperties, executors, new SimpleMeterRegistry());
+    }
+
+    private void assertNoCallsInFlight() throws InterruptedException {
+        ServerNode first = balancer.choose(null, null);
+        ServerNode second = balancer.choose(null, first);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (first.getOutstanding() + second.getOutstanding() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, first.getOutstanding());
+        assertEquals(0, second.getOutstanding());
+    }
+
+    private static ServerRequest get(HttpMethod method) {
+        return ServerRequest.builder().method(method).path("/items/1").userId(1L).build();
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> ok() {
+        return CompletableFuture.completedFuture(ResponseEntity.ok().build());
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> failed(Throwable error) {
+        return CompletableFuture.failedFuture(error);
+    }
+}
@@ -0,0 +1,211 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingServerTransportTest {
+
+    private static final int BODY_SIZE = 500;
+
+    private final List<ServerRequest> sent = new ArrayList<>();
+
+    private ServerCacheProperties properties;
+
+    private HttpStatus writeStatus;
+
+    private CompletableFuture<ResponseEntity<Object>> pendingRead;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ServerCacheProperties();
+        properties.setMaxSize(DataSize.ofBytes(3000));
+        properties.setFreshFor(Duration.ZERO);
+        writeStatus = HttpStatus.OK;
+    }
+
+    @Test
+    public void testExchange_RevalidatesCachedResponse() {
+        CachingServerTransport transport = transport();
+        ResponseEntity<Object> first = get(transport, "/users/1");
+
+        ResponseEntity<Object> second = get(transport, "/users/1");
+
+        assertEquals(2, sent.size());
+        assertEquals("\"/users/1\"", sent.get(1).getIfNoneMatch());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertArrayEquals((byte[]) first.getBody(), (byte[]) second.getBody());
+    }
+
+    @Test
+    public void testExchange_ServesFreshEntryWithoutServer() {
+        properties.setFreshFor(Duration.ofMinutes(1));
+        CachingServerTransport transport = transport();
+        get(transport, "/users/1");
+
+        get(transport, "/users/1");
+
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    public void testExchange_RevalidatesPathsOutsideFreshPaths() {
+        properties.setFreshFor(Duration.ofMinutes(1));
+        CachingServerTransport transport = transport();
+        get(transport, "/bookings/owner?state=CURRENT");
+        get(transport, "/items/1");
+
+        get(transport, "/bookings/owner?state=CURRENT");
+        get(transport, "/items/1");
+
+        assertEquals(4, sent.size());
+        assertEquals("\"/bookings/owner?state=CURRENT\"", sent.get(2).getIfNoneMatch());
+        assertEquals("\"/items/1\"", sent.get(3).getIfNoneMatch());
+    }
+
+    @Test
+    public void testExchange_EvictsLeastRecentlyUsedEntry() {
+        CachingServerTransport transport = transport();
+        get(transport, "/users/1");
+        get(transport, "/users/2");
+        get(transport, "/users/3");
+        get(transport, "/users/1");
+
+        get(transport, "/users/4");
+        sent.clear();
+        get(transport, "/users/2");
+        get(transport, "/users/1");
+
+        assertNull(sent.get(0).getIfNoneMatch());
+        assertEquals("\"/users/1\"", sent.get(1).getIfNoneMatch());
+    }
+
+    @Test
+    public void testExchange_SkipsEntriesLargerThanMaxEntrySize() {
+        properties.setMaxEntrySize(DataSize.ofBytes(BODY_SIZE));
+        CachingServerTransport transport = transport();
+        get(transport, "/users/1");
+
+        get(transport, "/users/1");
+
+        assertNull(sent.get(1).getIfNoneMatch());
+    }
+
+    @Test
+    public void testExchange_UserWriteDropsEveryResource() {
+        properties.setMaxSize(DataSize.ofKilobytes(64));
+        CachingServerTransport transport = transport();
+        getAll(transport);
+
+        transport.exchange(request(HttpMethod.PATCH, "/users/1")).join();
+        sent.clear();
+        getAll(transport);
+
+        assertTrue(sent.stream().allMatch(request -> request.getIfNoneMatch() == null));
+    }
+
+    @Test
+    public void testExchange_WriteDropsOnlyAffectedResources() {
+        properties.setMaxSize(DataSize.ofKilobytes(64));
+        CachingServerTransport transport = transport();
+        getAll(transport);
+
+        transport.exchange(request(HttpMethod.PATCH, "/bookings/1?approved=true")).join();
+        sent.clear();
+        getAll(transport);
+
+        assertEquals("\"/users/1\"", sent.get(0).getIfNoneMatch());
+        assertNull(sent.get(1).getIfNoneMatch());
+        assertNull(sent.get(2).getIfNoneMatch());
+        assertEquals("\"/requests/1\"", sent.get(3).getIfNoneMatch());
+    }
+
+    @Test
+    public void testExchange_ItemWriteDropsRequests() {
+        properties.setMaxSize(DataSize.ofKilobytes(64));
+        CachingServerTransport transport = transport();
+        getAll(transport);
+
+        transport.exchange(request(HttpMethod.POST, "/items")).join();
+        sent.clear();
+        getAll(transport);
+
+        assertEquals("\"/users/1\"", sent.get(0).getIfNoneMatch());
+        assertNull(sent.get(1).getIfNoneMatch());
+        assertNull(sent.get(2).getIfNoneMatch());
+        assertNull(sent.get(3).getIfNoneMatch());
+    }
+
+    @Test
+    public void testExchange_ResponseLoadedDuringWriteIsNotStored() {
+        CachingServerTransport transport = transport();
+        pendingRead = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> read = transport.exchange(request(HttpMethod.GET, "/items/1"));
+
+        transport.exchange(request(HttpMethod.POST, "/bookings")).join();
+        pendingRead.complete(ResponseEntity.ok().eTag("\"/items/1\"").body(new byte[BODY_SIZE]));
+        read.join();
+        pendingRead = null;
+        get(transport, "/items/1");
+
+        assertNull(sent.get(2).getIfNoneMatch());
+    }
+
+    @Test
+    public void testExchange_FailedWriteKeepsCache() {
+        writeStatus = HttpStatus.BAD_REQUEST;
+        CachingServerTransport transport = transport();
+        get(transport, "/users/1");
+
+        transport.exchange(request(HttpMethod.PATCH, "/users/1")).join();
+        get(transport, "/users/1");
+
+        assertEquals("\"/users/1\"", sent.get(2).getIfNoneMatch());
+    }
+
+    private CachingServerTransport transport() {
+        return new CachingServerTransport(request -> {
+            sent.add(request);
+            if (request.getMethod() != HttpMethod.GET) {
+                return CompletableFuture.completedFuture(ResponseEntity.status(writeStatus).build());
+            }
+            if (pendingRead != null) {
+                return pendingRead;
+            }
+            String etag = "\"" + request.getPath() + "\"";
+            if (etag.equals(request.getIfNoneMatch())) {
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+            }
+            return CompletableFuture.completedFuture(ResponseEntity.ok().eTag(etag).body(new byte[BODY_SIZE]));
+        }, properties, new SimpleMeterRegistry());
+    }
+
+    private static void getAll(CachingServerTransport transport) {
+        get(transport, "/users/1");
+        get(transport, "/items/1");
+        get(transport, "/bookings/1");
+        get(transport, "/requests/1");
+    }
+
+    private static ResponseEntity<Object> get(CachingServerTransport transport, String path) {
+        return transport.exchange(request(HttpMethod.GET, path)).join();
+    }
+
+    private static ServerRequest request(HttpMethod method, String path) {
+        return ServerRequest.builder().method(method).path(path).userId(1L).build();
+    }
+}
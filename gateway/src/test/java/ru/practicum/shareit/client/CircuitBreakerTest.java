@@ -0,0 +1,132 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTest {
+
+    private static final long OPEN = Duration.ofSeconds(10).toNanos();
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    public void setup() {
+        ServerResilienceProperties properties = new ServerResilienceProperties();
+        properties.setFailureRateThreshold(50);
+        properties.setWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenCalls(2);
+        breaker = new CircuitBreaker(properties);
+    }
+
+    @Test
+    public void testOnFailure_StaysClosedBelowMinimumCalls() {
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire(0));
+    }
+
+    @Test
+    public void testOnFailure_OpensAtFailureRateThreshold() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure(0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        breaker.onFailure(0);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire(OPEN - 1));
+    }
+
+    @Test
+    public void testOnSuccess_OldFailuresLeaveWindow() {
+        breaker.onFailure(0);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        breaker.onFailure(0);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testTryAcquire_HalfOpenAfterOpenDurationLetsTrialsThrough() {
+        open();
+
+        assertTrue(breaker.tryAcquire(OPEN));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire(OPEN));
+        assertFalse(breaker.tryAcquire(OPEN));
+    }
+
+    @Test
+    public void testOnSuccess_AllTrialsSucceedingCloses() {
+        open();
+        breaker.tryAcquire(OPEN);
+        breaker.tryAcquire(OPEN);
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        breaker.onFailure(OPEN);
+        breaker.onFailure(OPEN);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void testOnFailure_TrialFailureOpensAgain() {
+        open();
+        breaker.tryAcquire(OPEN);
+
+        breaker.onFailure(OPEN);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire(2 * OPEN - 1));
+        assertTrue(breaker.tryAcquire(2 * OPEN));
+    }
+
+    @Test
+    public void testOnIgnored_GivesTrialSlotBack() {
+        open();
+        breaker.tryAcquire(OPEN);
+        breaker.tryAcquire(OPEN);
+        assertFalse(breaker.tryAcquire(OPEN));
+
+        breaker.onIgnored();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire(OPEN));
+    }
+
+    @Test
+    public void testOnIgnored_DoesNotCountTowardsFailureRate() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onIgnored();
+        }
+        breaker.onFailure(0);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(0);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ResilientServerTransportTest {
+
+    private ServerResilienceProperties properties;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ServerResilienceProperties();
+        properties.setWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setOpenDuration(Duration.ofHours(1));
+    }
+
+    @Test
+    public void testExchange_DeadlineExceededDoesNotOpenCircuit() throws Exception {
+        ResilientServerTransport transport = new ResilientServerTransport(request -> CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(ResilientServerTransport.DEADLINE_EXCEEDED_HEADER, "true")
+                        .build()), properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, transport.exchange(request()).get().getStatusCode());
+        }
+    }
+
+    @Test
+    public void testExchange_ServerErrorsOpenCircuit() throws Exception {
+        ResilientServerTransport transport = new ResilientServerTransport(request -> CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()), properties, new SimpleMeterRegistry());
+        for (int i = 0; i < 4; i++) {
+            transport.exchange(request()).get();
+        }
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> transport.exchange(request()).get());
+
+        assertInstanceOf(ServerUnavailableException.class, error.getCause());
+    }
+
+    private static ServerRequest request() {
+        return ServerRequest.builder().method(HttpMethod.GET).path("/items/1").userId(1L).build();
+    }
+}
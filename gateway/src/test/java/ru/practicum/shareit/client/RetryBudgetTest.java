@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryBudgetTest {
+
+    @Test
+    public void testTryWithdraw_AllowsBurstOfMin() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    public void testDeposit_EarnsOneAttemptPerCallsWorthOfRatio() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        budget.tryWithdraw();
+
+        budget.deposit();
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    public void testDeposit_DoesNotSaveMoreThanMin() {
+        RetryBudget budget = new RetryBudget(1, 2);
+
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+}
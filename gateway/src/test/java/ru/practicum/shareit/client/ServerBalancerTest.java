@@ -0,0 +1,158 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServerBalancerTest {
+
+    private ServerBalancerProperties properties;
+
+    private ServerBalancer balancer;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ServerBalancerProperties();
+        properties.setHealthInterval(Duration.ofHours(1));
+        properties.setEjectAfterFailures(2);
+        properties.setEjectionTime(Duration.ofMinutes(1));
+        properties.setAffinityMaxOutstanding(2);
+        balancer = new ServerBalancer(List.of("http://node-a/", "http://node-b", "http://node-c"),
+                properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        balancer.close();
+    }
+
+    @Test
+    public void testChoose_PrefersNodeWithFewestCallsInFlight() {
+        ServerNode busy = balancer.choose(null, null);
+        busy.start();
+        ServerNode second = balancer.choose(null, null);
+        second.start();
+
+        ServerNode idle = balancer.choose(null, null);
+
+        assertNotSame(busy, idle);
+        assertNotSame(second, idle);
+        assertEquals(0, idle.getOutstanding());
+    }
+
+    @Test
+    public void testChoose_AvoidsExcludedNode() {
+        ServerNode excluded = balancer.choose(null, null);
+
+        for (int i = 0; i < 20; i++) {
+            assertNotSame(excluded, balancer.choose(null, excluded));
+        }
+    }
+
+    @Test
+    public void testOnResponse_EjectsNodeAfterConsecutiveFailures() {
+        ServerNode failing = balancer.choose(null, null);
+        fail(failing);
+        assertTrue(failing.isAvailable());
+        fail(failing);
+
+        assertFalse(failing.isAvailable());
+        for (int i = 0; i < 20; i++) {
+            assertNotSame(failing, balancer.choose(null, null));
+        }
+    }
+
+    @Test
+    public void testOnResponse_SuccessResetsFailureCount() {
+        ServerNode node = balancer.choose(null, null);
+        fail(node);
+        node.start();
+        balancer.onResponse(node, false, System.nanoTime());
+        fail(node);
+
+        assertTrue(node.isAvailable());
+    }
+
+    @Test
+    public void testChoose_UsesEjectedNodesWhenNoneIsAvailable() {
+        for (int i = 0; i < 3; i++) {
+            ServerNode node = balancer.choose(null, null);
+            fail(node);
+            fail(node);
+        }
+
+        assertNotNull(balancer.choose(null, null));
+    }
+
+    @Test
+    public void testChoose_AffinityKeepsUserOnSameNode() {
+        properties.setUserAffinity(true);
+        ServerNode preferred = balancer.choose(42L, null);
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(preferred, balancer.choose(42L, null));
+        }
+    }
+
+    @Test
+    public void testChoose_AffinitySpreadsUsersOverNodes() {
+        properties.setUserAffinity(true);
+        Set<String> used = new HashSet<>();
+
+        for (long userId = 1; userId <= 100; userId++) {
+            used.add(balancer.choose(userId, null).getUrl());
+        }
+
+        assertEquals(Set.of("http://node-a", "http://node-b", "http://node-c"), used);
+    }
+
+    @Test
+    public void testChoose_AffinityMovesOnlyEjectedNodesUsers() {
+        properties.setUserAffinity(true);
+        ServerNode ejected = balancer.choose(1L, null);
+        ServerNode[] before = new ServerNode[100];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = balancer.choose((long) i, null);
+        }
+
+        fail(ejected);
+        fail(ejected);
+
+        for (int i = 0; i < before.length; i++) {
+            ServerNode after = balancer.choose((long) i, null);
+            if (before[i] == ejected) {
+                assertNotSame(ejected, after);
+            } else {
+                assertSame(before[i], after);
+            }
+        }
+    }
+
+    @Test
+    public void testChoose_AffinityYieldsWhenPreferredNodeIsOverloaded() {
+        properties.setUserAffinity(true);
+        ServerNode preferred = balancer.choose(42L, null);
+        preferred.start();
+        preferred.start();
+
+        assertNotSame(preferred, balancer.choose(42L, null));
+    }
+
+    private void fail(ServerNode node) {
+        node.start();
+        balancer.onResponse(node, true, System.nanoTime());
+    }
+}
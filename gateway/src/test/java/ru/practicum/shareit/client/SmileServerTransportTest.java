@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SmileServerTransportTest {
+
+    @Test
+    public void testExchange_CancelReachesUpstreamCall() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+        SmileServerTransport transport = new SmileServerTransport(request -> upstream);
+
+        transport.exchange(ServerRequest.builder().method(HttpMethod.GET).path("/items/1").userId(1L).build()).cancel(true);
+
+        assertTrue(upstream.isCancelled());
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.tool.Headers.USER_ID;
+
+public class RateLimitClientsTest {
+
+    private final RateLimitClients clients = new RateLimitClients();
+
+    @Test
+    public void testKey_ByUserOrAddress() {
+        MockHttpServletRequest anonymous = request("10.0.0.5");
+        MockHttpServletRequest user = request("10.0.0.5");
+        user.addHeader(USER_ID, "7");
+
+        assertEquals("addr:10.0.0.5", clients.key(anonymous));
+        assertEquals("user:7", clients.key(user));
+    }
+
+    @Test
+    public void testKey_LoopbackRequestIsChargedToForwardedClient() {
+        MockHttpServletRequest loopback = request("127.0.0.1");
+        loopback.addHeader(RateLimitClients.HEADER, clients.forward(request("10.0.0.5")));
+
+        assertEquals("addr:10.0.0.5", clients.key(loopback));
+    }
+
+    @Test
+    public void testKey_IgnoresForwardedClientWithoutToken() {
+        MockHttpServletRequest spoofed = request("10.0.0.6");
+        spoofed.addHeader(RateLimitClients.HEADER, "x:user:1");
+
+        assertEquals("addr:10.0.0.6", clients.key(spoofed));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
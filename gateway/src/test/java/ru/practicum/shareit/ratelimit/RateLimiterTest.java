@@ -0,0 +1,57 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+
+    private RateLimitProperties properties;
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setup() {
+        properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(3, 0.01));
+        properties.setWrite(new RateLimitProperties.Budget(1, 0.01));
+        rateLimiter = new RateLimiter(properties);
+    }
+
+    @Test
+    public void testTryAcquire_RejectsClientAfterBurst() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("1", false));
+        }
+
+        assertTrue(rateLimiter.tryAcquire("1", false) > 0);
+    }
+
+    @Test
+    public void testTryAcquire_ClientsAndKindsHaveSeparateBuckets() {
+        assertEquals(0, rateLimiter.tryAcquire("1", true));
+        assertTrue(rateLimiter.tryAcquire("1", true) > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire("1", false));
+        assertEquals(0, rateLimiter.tryAcquire("2", true));
+    }
+
+    @Test
+    public void testNew_RejectsZeroRefill() {
+        properties.setWrite(new RateLimitProperties.Budget(1, 0));
+
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(properties));
+    }
+
+    @Test
+    public void testTryAcquire_NewClientsPassWhenTableIsFull() {
+        properties.setMaxBuckets(10);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(String.valueOf(i), true));
+        }
+    }
+}
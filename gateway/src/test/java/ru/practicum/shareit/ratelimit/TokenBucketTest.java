@@ -0,0 +1,65 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    public void testTryAcquire_AllowsBurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 10, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(INTERVAL, bucket.tryAcquire(0));
+    }
+
+    @Test
+    public void testTryAcquire_RefillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(3, 10, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        assertEquals(INTERVAL / 2, bucket.tryAcquire(INTERVAL / 2));
+        assertEquals(0, bucket.tryAcquire(INTERVAL));
+        assertEquals(INTERVAL, bucket.tryAcquire(INTERVAL));
+    }
+
+    @Test
+    public void testTryAcquire_IdleBucketDoesNotSaveMoreThanCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 10, 0);
+        long later = TimeUnit.SECONDS.toNanos(60);
+
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(INTERVAL, bucket.tryAcquire(later));
+    }
+
+    @Test
+    public void testNew_RejectsBudgetsOutsideNanosecondRange() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(3, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(Integer.MAX_VALUE, 1e-9, 0));
+    }
+
+    @Test
+    public void testIsFull_OnceArrivalTimeHasPassed() {
+        TokenBucket bucket = new TokenBucket(3, 10, 0);
+        assertTrue(bucket.isFull(0));
+
+        bucket.tryAcquire(0);
+
+        assertFalse(bucket.isFull(0));
+        assertTrue(bucket.isFull(INTERVAL));
+    }
+}
@@ -3,11 +3,13 @@ package ru.practicum.shareit.booking.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.dto.BookingApproveDto;
 import ru.practicum.shareit.booking.model.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
+import ru.practicum.shareit.booking.model.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.tool.BookingMapper;
 
@@ -19,6 +21,8 @@ import java.util.List;
 @Slf4j
 public class BookingController {
 
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -50,25 +54,41 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingSendingDto> getBookingsByBookerId(
+    public ResponseEntity<List<BookingSendingDto>> getBookingsByBookerId(
             @RequestHeader("X-Sharer-User-Id") long bookerId,
         @RequestParam(name = "state", defaultValue = "ALL") State state,
         @RequestParam(name = "from", defaultValue = "0") int from,
-        @RequestParam(name = "size", defaultValue = "10") int size
+        @RequestParam(name = "size", defaultValue = "10") int size,
+        @RequestParam(name = "cursor", required = false) String cursor
     ) {
         log.debug("Request \"getBookingsByUserId\"is called.");
-        return bookingService.getBookingsByBookerId(bookerId, state, from, size);
+        if (cursor != null) {
+            return toResponse(bookingService.getBookingsByBookerId(bookerId, state, cursor, size));
+        }
+        return ResponseEntity.ok(bookingService.getBookingsByBookerId(bookerId, state, from, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingSendingDto> getBookingsItemsByUserId(
+    public ResponseEntity<List<BookingSendingDto>> getBookingsItemsByUserId(
             @RequestHeader("X-Sharer-User-Id") long ownerId,
             @RequestParam(name = "state", defaultValue = "ALL") State state,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "10") int size
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
         log.debug("Request \"getBookingsItemsByUserId\"is called.");
-        return bookingService.getBookingsItemsByUserId(ownerId, state, from, size);
+        if (cursor != null) {
+            return toResponse(bookingService.getBookingsItemsByUserId(ownerId, state, cursor, size));
+        }
+        return ResponseEntity.ok(bookingService.getBookingsItemsByUserId(ownerId, state, from, size));
+    }
+
+    private ResponseEntity<List<BookingSendingDto>> toResponse(BookingSliceDto slice) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.getNextCursor() != null) {
+            response.header(NEXT_CURSOR, slice.getNextCursor());
+        }
+        return response.body(slice.getContent());
     }
 
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.exception;
+
+public class BookingOverlapException extends RuntimeException {
+    public BookingOverlapException(Long itemId) {
+        super(String.format("Item with id = %s is already booked for this period.", itemId));
+    }
+}
@@ -20,7 +20,8 @@ import java.util.Objects;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", schema = "public", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -44,6 +45,10 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
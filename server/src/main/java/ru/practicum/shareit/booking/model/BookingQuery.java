@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parameters of a booking list query: whose bookings, which state relative to {@code now},
+ * and which window of the list ordered by (start, id) descending.
+ * A cursor selects the window by seek, otherwise {@code offset} is used.
+ */
+@Getter
+@Builder
+public class BookingQuery {
+
+    public enum Role {
+        BOOKER,
+        OWNER
+    }
+
+    private final Role role;
+
+    private final Long userId;
+
+    private final State state;
+
+    private final LocalDateTime now;
+
+    private final BookingCursor cursor;
+
+    private final int offset;
+
+    private final int limit;
+}
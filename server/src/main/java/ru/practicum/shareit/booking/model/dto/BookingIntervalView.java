@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.model.dto;
+
+import java.time.LocalDateTime;
+
+public interface BookingIntervalView {
+
+    Long getId();
+
+    Long getItemId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Approved booking of an item reduced to what item views show about it.
+ */
+public interface BookingItemView {
+
+    Long getItemId();
+
+    Long getId();
+
+    Long getBookerId();
+
+    String getKind();
+
+    LocalDateTime getStart();
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BookingSliceDto {
+
+    private List<BookingSendingDto> content;
+
+    private String nextCursor;
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class LastNextBookingDto {
+
+    private BookingItemDto lastBooking;
+
+    private BookingItemDto nextBooking;
+
+}
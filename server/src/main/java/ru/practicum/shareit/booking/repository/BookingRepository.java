@@ -1,59 +1,61 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.model.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.model.dto.BookingItemView;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    Page<Booking> findByBookerId(Long ownerId, Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    Page<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime now,
-                                                              LocalDateTime now1, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime now, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime now, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStatus(Long bookerId, Status status, Pageable pageable);
-
-    Page<Booking> findByItemOwnerId(Long ownerId, Pageable pageable);
-
-    Page<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(Long ownerId, LocalDateTime start,
-                                                                 LocalDateTime end, Pageable sort);
-
-    Page<Booking> findByItemOwnerIdAndEndIsBefore(Long ownerId, LocalDateTime end, Pageable sort);
-
-    Page<Booking> findByItemOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime start, Pageable sort);
-
-    Page<Booking> findByItemOwnerIdAndStatus(Long ownerId, Status status, Pageable sort);
-
-    Optional<Booking> findFirstByItemIdAndStartIsBeforeAndStatus(Long itemId, LocalDateTime start, Status status, Sort sort);
-
-    Optional<Booking> findFirstByItemIdAndStartIsAfterAndStatus(Long itemId, LocalDateTime start, Status status, Sort sort);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
 
     Optional<Booking> findFirstByItemIdAndBookerIdAndEndIsBeforeAndStatus(Long itemId, Long userId,
                                                                  LocalDateTime end, Status status);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id IN :itemIds " +
-            "AND b.start = (SELECT MAX(b2.start) FROM Booking b2 WHERE b2.item.id = b.item.id AND b2.start <= CURRENT_TIMESTAMP) " +
-            "AND b.status = 'APPROVED'")
-    List<Booking> findLatestBookingsForItems(@Param("itemIds") List<Long> itemIds);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id IN :itemIds " +
-            "AND b.start = (SELECT MIN(b2.start) FROM Booking b2 WHERE b2.item.id = b.item.id AND b2.start >= CURRENT_TIMESTAMP) " +
-            "AND b.status = 'APPROVED'")
-    List<Booking> findFutureBookingsForItems(@Param("itemIds") List<Long> itemIds);
+    /**
+     * The latest started approved booking of each item (kind LAST) and its earliest approved booking that has
+     * not started yet (kind NEXT).
+     */
+    @Query(value = "SELECT t.item_id AS itemId, t.id AS id, t.booker_id AS bookerId, t.kind AS kind, " +
+            "t.start_date AS start " +
+            "FROM (SELECT b.item_id, b.id, b.booker_id, b.start_date, " +
+            "CASE WHEN b.start_date <= :now THEN 'LAST' ELSE 'NEXT' END AS kind, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id, b.start_date <= :now " +
+            "ORDER BY CASE WHEN b.start_date <= :now THEN b.start_date END DESC, " +
+            "CASE WHEN b.start_date <= :now THEN b.id END DESC, b.start_date, b.id) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED') t " +
+            "WHERE t.rn = 1",
+            nativeQuery = true)
+    List<BookingItemView> findLastAndNextForItems(@Param("itemIds") Collection<Long> itemIds,
+                                                  @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status = 'APPROVED' AND b.start < :end AND b.end > :start")
+    boolean existsApprovedOverlap(@Param("itemId") Long itemId,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.status = :status AND b.end > :end")
+    List<BookingIntervalView> findIntervalsByStatusAndEndIsAfter(@Param("status") Status status,
+                                                                 @Param("end") LocalDateTime end);
 
 }
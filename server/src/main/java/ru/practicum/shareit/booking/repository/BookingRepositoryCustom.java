@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.model.BookingQuery;
+import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<BookingSendingDto> findBookingDtos(BookingQuery query);
+}
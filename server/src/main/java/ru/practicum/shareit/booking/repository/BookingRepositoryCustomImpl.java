@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingQuery;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.model.dto.UserDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingSendingDto> findBookingDtos(BookingQuery bookingQuery) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item", JoinType.INNER);
+        Join<Booking, User> booker = booking.join("booker", JoinType.INNER);
+        Join<Item, ItemRequest> request = item.join("request", JoinType.LEFT);
+
+        query.multiselect(
+                booking.get("id"), booking.get("start"), booking.get("end"), booking.get("status"),
+                item.get("id"), item.get("name"), item.get("description"), item.get("available"), request.get("id"),
+                booker.get("id"), booker.get("name"), booker.get("email"));
+        restrict(query, builder, booking, item, booker, bookingQuery);
+        return page(entityManager.createQuery(query), bookingQuery).getResultStream()
+                .map(BookingRepositoryCustomImpl::toSendingDto)
+                .collect(Collectors.toList());
+    }
+
+    private static void restrict(CriteriaQuery<?> query, CriteriaBuilder builder, Root<Booking> booking,
+                                 Join<Booking, Item> item, Join<Booking, User> booker, BookingQuery bookingQuery) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+        LocalDateTime now = bookingQuery.getNow();
+
+        List<Predicate> predicates = new ArrayList<>();
+        switch (bookingQuery.getRole()) {
+            case BOOKER:
+                predicates.add(builder.equal(booker.get("id"), bookingQuery.getUserId()));
+                break;
+            case OWNER:
+                predicates.add(builder.equal(item.get("owner").get("id"), bookingQuery.getUserId()));
+                break;
+            default:
+                throw new IllegalArgumentException();
+        }
+        switch (bookingQuery.getState()) {
+            case ALL:
+                break;
+            case PAST:
+                predicates.add(builder.lessThan(end, now));
+                break;
+            case FUTURE:
+                predicates.add(builder.greaterThan(start, now));
+                break;
+            case CURRENT:
+                predicates.add(builder.lessThan(start, now));
+                predicates.add(builder.greaterThan(end, now));
+                break;
+            case WAITING:
+                predicates.add(builder.equal(booking.get("status"), Status.WAITING));
+                break;
+            case REJECTED:
+                predicates.add(builder.equal(booking.get("status"), Status.REJECTED));
+                break;
+            default:
+                throw new IllegalArgumentException();
+        }
+        BookingCursor cursor = bookingQuery.getCursor();
+        if (cursor != null) {
+            predicates.add(builder.or(
+                    builder.lessThan(start, cursor.getStart()),
+                    builder.and(builder.equal(start, cursor.getStart()), builder.lessThan(id, cursor.getId()))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(builder.desc(start), builder.desc(id));
+    }
+
+    private static <T> TypedQuery<T> page(TypedQuery<T> query, BookingQuery bookingQuery) {
+        return query
+                .setFirstResult(bookingQuery.getCursor() == null ? bookingQuery.getOffset() : 0)
+                .setMaxResults(bookingQuery.getLimit());
+    }
+
+    private static BookingSendingDto toSendingDto(Tuple tuple) {
+        return BookingSendingDto.builder()
+                .id(tuple.get(0, Long.class))
+                .start(tuple.get(1, LocalDateTime.class))
+                .end(tuple.get(2, LocalDateTime.class))
+                .status(tuple.get(3, Status.class))
+                .item(ItemDto.builder()
+                        .id(tuple.get(4, Long.class))
+                        .name(tuple.get(5, String.class))
+                        .description(tuple.get(6, String.class))
+                        .available(tuple.get(7, Boolean.class))
+                        .requestId(tuple.get(8, Long.class))
+                        .build())
+                .booker(UserDto.builder()
+                        .id(tuple.get(9, Long.class))
+                        .name(tuple.get(10, String.class))
+                        .email(tuple.get(11, String.class))
+                        .build())
+                .build();
+    }
+}
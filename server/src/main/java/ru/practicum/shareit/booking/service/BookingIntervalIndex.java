@@ -0,0 +1,206 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.model.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of approved booking periods per item. Periods approved through the service never
+ * overlap, so they are kept in a map by start whose ends ascend as well, and an overlap check only has
+ * to look at the last period starting before the requested end. Rows loaded at warm-up may overlap
+ * (legacy data, approvals made before the check existed); those are logged and kept aside in a small
+ * set that is checked in full. Finished periods are evicted whenever an item is read or written.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Slf4j
+public class BookingIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, Periods> approvedByItem = new ConcurrentHashMap<>();
+
+    private final Map<Long, Interval> intervalByBooking = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void warmUp() {
+        LocalDateTime now = LocalDateTime.now();
+        int count = 0;
+        for (BookingIntervalView view : bookingRepository.findIntervalsByStatusAndEndIsAfter(Status.APPROVED, now)) {
+            put(new Interval(view.getId(), view.getItemId(), view.getStart(), view.getEnd()));
+            count++;
+        }
+        log.info("Booking interval index is warmed up with {} approved bookings.", count);
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Periods periods = approvedByItem.get(itemId);
+        if (periods == null) {
+            return false;
+        }
+        evictFinished(periods, LocalDateTime.now());
+        return periods.overlaps(start, end);
+    }
+
+    public void add(Booking booking) {
+        Interval interval = new Interval(booking.getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        afterCommit(() -> {
+            Periods periods = put(interval);
+            evictFinished(periods, LocalDateTime.now());
+        });
+    }
+
+    public void remove(Long bookingId) {
+        afterCommit(() -> {
+            Interval interval = intervalByBooking.remove(bookingId);
+            if (interval == null) {
+                return;
+            }
+            Periods periods = approvedByItem.get(interval.itemId);
+            if (periods != null) {
+                periods.remove(interval);
+            }
+        });
+    }
+
+    private Periods put(Interval interval) {
+        Periods periods = approvedByItem.computeIfAbsent(interval.itemId, id -> new Periods());
+        Interval overlapped = periods.add(interval);
+        if (overlapped != null) {
+            log.warn("Approved bookings {} and {} of item {} overlap.", overlapped.id, interval.id, interval.itemId);
+        }
+        intervalByBooking.put(interval.id, interval);
+        return periods;
+    }
+
+    private void evictFinished(Periods periods, LocalDateTime now) {
+        if (periods.hasFinished(now)) {
+            periods.evictFinished(now).forEach(interval -> intervalByBooking.remove(interval.id));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Approved periods of one item. Writers lock the instance, readers do not.
+     */
+    private static final class Periods {
+
+        /**
+         * Non-overlapping periods by start; their ends ascend in the same order.
+         */
+        private final NavigableMap<LocalDateTime, Interval> byStart = new ConcurrentSkipListMap<>();
+
+        /**
+         * Periods that overlapped one in {@code byStart} when added.
+         */
+        private final Set<Interval> overlapping = ConcurrentHashMap.newKeySet();
+
+        private boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, Interval> before = byStart.lowerEntry(end);
+            if (before != null && before.getValue().end.isAfter(start)) {
+                return true;
+            }
+            for (Interval interval : overlapping) {
+                if (interval.start.isBefore(end) && interval.end.isAfter(start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Adds the period and returns the one it overlaps, if any.
+         */
+        private synchronized Interval add(Interval interval) {
+            Map.Entry<LocalDateTime, Interval> before = byStart.lowerEntry(interval.end);
+            if (before != null && before.getValue().end.isAfter(interval.start)) {
+                overlapping.add(interval);
+                return before.getValue();
+            }
+            byStart.put(interval.start, interval);
+            return null;
+        }
+
+        private synchronized void remove(Interval interval) {
+            if (!byStart.remove(interval.start, interval)) {
+                overlapping.remove(interval);
+            }
+        }
+
+        private boolean hasFinished(LocalDateTime now) {
+            Map.Entry<LocalDateTime, Interval> first = byStart.firstEntry();
+            if (first != null && !first.getValue().end.isAfter(now)) {
+                return true;
+            }
+            for (Interval interval : overlapping) {
+                if (!interval.end.isAfter(now)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized List<Interval> evictFinished(LocalDateTime now) {
+            List<Interval> evicted = new ArrayList<>();
+            Map.Entry<LocalDateTime, Interval> first = byStart.firstEntry();
+            while (first != null && !first.getValue().end.isAfter(now)) {
+                byStart.remove(first.getKey());
+                evicted.add(first.getValue());
+                first = byStart.firstEntry();
+            }
+            for (Interval interval : overlapping) {
+                if (!interval.end.isAfter(now) && overlapping.remove(interval)) {
+                    evicted.add(interval);
+                }
+            }
+            return evicted;
+        }
+    }
+
+    private static final class Interval {
+
+        private final long id;
+
+        private final long itemId;
+
+        private final LocalDateTime start;
+
+        private final LocalDateTime end;
+
+        private Interval(long id, long itemId, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.itemId = itemId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
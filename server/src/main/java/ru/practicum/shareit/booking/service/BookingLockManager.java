@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks keyed by item id. Bookings of different items almost always land on different stripes
+ * and proceed in parallel, while bookings of the same item are serialized until the transaction completes.
+ */
+@Component
+public class BookingLockManager {
+
+    private final ReentrantLock[] stripes;
+
+    private final int mask;
+
+    @Getter
+    private final boolean pessimistic;
+
+    private final Counter acquisitions;
+
+    private final Counter contentions;
+
+    @Autowired
+    public BookingLockManager(@Value("${shareit.booking.lock.stripes:64}") int stripeCount,
+                              @Value("${shareit.booking.lock.pessimistic:false}") boolean pessimistic,
+                              MeterRegistry meterRegistry) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.pessimistic = pessimistic;
+        this.acquisitions = Counter.builder("shareit.booking.lock.acquisitions")
+                .description("Item stripe lock acquisitions")
+                .register(meterRegistry);
+        this.contentions = Counter.builder("shareit.booking.lock.contentions")
+                .description("Item stripe lock acquisitions that had to wait for another transaction")
+                .register(meterRegistry);
+    }
+
+    public void lockForTransaction(Long itemId) {
+        Assert.state(TransactionSynchronizationManager.isSynchronizationActive(),
+                "Item lock can only be taken inside a transaction.");
+        ReentrantLock lock = stripes[stripe(itemId)];
+        acquisitions.increment();
+        if (!lock.tryLock()) {
+            contentions.increment();
+            lock.lock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private int stripe(Long itemId) {
+        int hash = Long.hashCode(itemId);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -4,6 +4,7 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
+import ru.practicum.shareit.booking.model.dto.BookingSliceDto;
 
 import java.util.List;
 
@@ -24,4 +25,8 @@ public interface BookingService {
     List<BookingSendingDto> getBookingsByBookerId(Long ownerId, State state, int from, int size);
 
     List<BookingSendingDto> getBookingsItemsByUserId(Long userId, State state, int from, int size);
+
+    BookingSliceDto getBookingsByBookerId(Long bookerId, State state, String cursor, int size);
+
+    BookingSliceDto getBookingsItemsByUserId(Long userId, State state, String cursor, int size);
 }
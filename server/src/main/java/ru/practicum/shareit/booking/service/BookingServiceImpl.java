@@ -2,20 +2,21 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.exception.BookingNotFoundException;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
 import ru.practicum.shareit.booking.exception.BookingStatusException;
 import ru.practicum.shareit.booking.exception.BookingTimeException;
 import ru.practicum.shareit.booking.exception.OwnerNotFoundException;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingQuery;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.model.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
+import ru.practicum.shareit.booking.model.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.tool.BookingMapper;
 import ru.practicum.shareit.item.exception.ItemNotAvailableException;
@@ -26,6 +27,7 @@ import ru.practicum.shareit.request.exception.PaginationParamException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -40,8 +42,16 @@ public class BookingServiceImpl implements BookingService {
 
     private final UserRepository userRepository;
 
+    private final UserExistenceCache userExistenceCache;
+
     private final ItemRepository itemRepository;
 
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    private final BookingLockManager bookingLockManager;
+
+    private final ItemBookingsReadModel itemBookingsReadModel;
+
     @Override
     @Transactional
     public BookingSendingDto create(BookingCreationDto bookingCreationDto, Long brokerId) {
@@ -58,6 +68,10 @@ public class BookingServiceImpl implements BookingService {
         if (item.getOwner().getId().equals(brokerId)) {
             throw new OwnerNotFoundException();
         }
+        bookingLockManager.lockForTransaction(item.getId());
+        if (bookingIntervalIndex.overlaps(item.getId(), bookingCreationDto.getStart(), bookingCreationDto.getEnd())) {
+            throw new BookingOverlapException(item.getId());
+        }
         Booking booking = BookingMapper.fromCreationDto(bookingCreationDto);
         booking.setBooker(broker);
         booking.setItem(item);
@@ -68,7 +82,9 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public Booking approve(Long bookingId, Boolean isApproved, Long ownerId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = (bookingLockManager.isPessimistic()
+                ? bookingRepository.findByIdForUpdate(bookingId)
+                : bookingRepository.findById(bookingId))
                 .orElseThrow(() -> new BookingNotFoundException(bookingId));
         if (booking.getStatus().equals(Status.APPROVED)) {
             throw new BookingStatusException("Booking already approved.");
@@ -77,118 +93,87 @@ public class BookingServiceImpl implements BookingService {
         if (!item.getOwner().getId().equals(ownerId)) {
             throw new OwnerNotFoundException();
         }
+        bookingLockManager.lockForTransaction(item.getId());
         if (isApproved) {
+            // The index only sees approvals made by this node: the item row lock serializes approvals
+            // across nodes and the overlap is checked against the database.
+            itemRepository.findByIdForUpdate(item.getId());
+            if (bookingRepository.existsApprovedOverlap(item.getId(), booking.getStart(), booking.getEnd())) {
+                throw new BookingOverlapException(item.getId());
+            }
             booking.setStatus(Status.APPROVED);
         } else {
             booking.setStatus(Status.REJECTED);
         }
-        return bookingRepository.save(booking);
+        Booking savedBooking = bookingRepository.save(booking);
+        if (savedBooking.getStatus() == Status.APPROVED) {
+            bookingIntervalIndex.add(savedBooking);
+            itemBookingsReadModel.add(savedBooking);
+        }
+        return savedBooking;
     }
 
     @Override
     public List<BookingSendingDto> getBookingsByBookerId(Long bookerId, State state, int from, int size) {
-        if (!userRepository.existsById(bookerId)) {
-            throw new UserNotFoundException(bookerId);
-        }
-
-        if (from < 0 || size <= 0) {
-            throw new PaginationParamException("Params size and from cannot be <= 0.");
-        }
-        Iterable<Booking> bookings;
-        PageRequest pageRequest = PageRequest.of(
-                from > 0 ? from / size : 0,
-                size,
-                Sort.by(Sort.Direction.DESC, "start")
-        );
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByBookerId(bookerId, pageRequest);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndIsBefore(
-                                bookerId,
-                                LocalDateTime.now(),
-                                pageRequest
-                );
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartIsAfter(
-                                bookerId,
-                                LocalDateTime.now(),
-                                pageRequest
-                );
-                break;
-            case CURRENT:
-                bookings =  bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(
-                                bookerId,
-                                LocalDateTime.now(),
-                                LocalDateTime.now(),
-                                pageRequest
-                );
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatus(
-                                bookerId,
-                                Status.WAITING,
-                                pageRequest);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatus(
-                        bookerId,
-                        Status.REJECTED,
-                        PageRequest.of(from, size));
-                break;
-            default:
-                throw new IllegalArgumentException();
-        }
-        return BookingMapper.toSendingDto(bookings);
+        return getBookings(BookingQuery.Role.BOOKER, bookerId, state, from, size);
     }
 
     @Override
     public List<BookingSendingDto> getBookingsItemsByUserId(Long userId, State state, int from, int size) {
-        if (!userRepository.existsById(userId)) {
+        return getBookings(BookingQuery.Role.OWNER, userId, state, from, size);
+    }
+
+    @Override
+    public BookingSliceDto getBookingsByBookerId(Long bookerId, State state, String cursor, int size) {
+        return getBookings(BookingQuery.Role.BOOKER, bookerId, state, cursor, size);
+    }
+
+    @Override
+    public BookingSliceDto getBookingsItemsByUserId(Long userId, State state, String cursor, int size) {
+        return getBookings(BookingQuery.Role.OWNER, userId, state, cursor, size);
+    }
+
+    private List<BookingSendingDto> getBookings(BookingQuery.Role role, Long userId, State state, int from, int size) {
+        if (!userExistenceCache.exists(userId)) {
             throw new UserNotFoundException(userId);
         }
         if (from < 0 || size <= 0) {
             throw new PaginationParamException("Params size and from cannot be <= 0.");
         }
-        Page<Booking> bookings;
-        PageRequest pageRequest = PageRequest.of(
-                from > 0 ? from / size : 0,
-                size,
-                Sort.by(Sort.Direction.DESC, "start")
-        );
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByItemOwnerId(userId, pageRequest);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItemOwnerIdAndEndIsBefore(
-                        userId, LocalDateTime.now(),  pageRequest);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItemOwnerIdAndStartIsAfter(
-                        userId, LocalDateTime.now(),  pageRequest);
-                break;
-            case CURRENT:
-                bookings =  bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-                        userId, LocalDateTime.now(), LocalDateTime.now(),  pageRequest);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItemOwnerIdAndStatus(
-                        userId, Status.WAITING, pageRequest);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItemOwnerIdAndStatus(
-                        userId, Status.REJECTED,  pageRequest);
-                break;
-            default:
-                throw new IllegalArgumentException();
+        return bookingRepository.findBookingDtos(BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(state)
+                .now(LocalDateTime.now())
+                .offset(from / size * size)
+                .limit(size)
+                .build());
+    }
+
+    private BookingSliceDto getBookings(BookingQuery.Role role, Long userId, State state, String cursor, int size) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new UserNotFoundException(userId);
         }
-        return bookings
-                .stream()
-                .map(BookingMapper::toSendingDto)
-                .collect(Collectors.toList());
+        if (size <= 0) {
+            throw new PaginationParamException("Param size cannot be <= 0.");
+        }
+        return toSlice(bookingRepository.findBookingDtos(BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(state)
+                .now(LocalDateTime.now())
+                .cursor(BookingCursor.decode(cursor))
+                .limit(size + 1)
+                .build()), size);
+    }
+
+    private BookingSliceDto toSlice(List<BookingSendingDto> bookings, int size) {
+        boolean hasNext = bookings.size() > size;
+        List<BookingSendingDto> content = hasNext ? bookings.subList(0, size) : bookings;
+        return BookingSliceDto.builder()
+                .content(content)
+                .nextCursor(hasNext ? BookingCursor.of(content.get(size - 1)).encode() : null)
+                .build();
     }
 
     @Override
@@ -218,9 +203,9 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public void removeById(Long id) {
-        if (!bookingRepository.existsById(id)) {
-            throw new BookingNotFoundException(id);
-        }
-        bookingRepository.deleteById(id);
+        Booking booking = bookingRepository.findById(id).orElseThrow(() -> new BookingNotFoundException(id));
+        bookingRepository.delete(booking);
+        bookingIntervalIndex.remove(id);
+        itemBookingsReadModel.remove(booking);
     }
 }
@@ -0,0 +1,338 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.dto.BookingItemDto;
+import ru.practicum.shareit.booking.model.dto.BookingItemView;
+import ru.practicum.shareit.booking.model.dto.LastNextBookingDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Last and next approved booking per item, kept in memory so item views read them by item id.
+ * An item is loaded from the database on first read; afterwards approvals and removals update it
+ * after commit. Once the next booking starts the item is dropped, either on read or from the scheduled
+ * {@link #advance()}, and loads again with its new last and next booking. At most
+ * {@code shareit.item.bookings.max-items} items are kept; beyond that arbitrary items are dropped
+ * and load again on their next read.
+ */
+@Component
+public class ItemBookingsReadModel {
+
+    private final BookingRepository bookingRepository;
+
+    private final int maxItems;
+
+    private final Map<Long, ItemBookings> items = new ConcurrentHashMap<>();
+
+    private final Map<Long, Long> itemByBooking = new ConcurrentHashMap<>();
+
+    private final NavigableSet<Entry> upcoming = new ConcurrentSkipListSet<>(Entry.ORDER);
+
+    /**
+     * Items being loaded, with the number of booking changes to each since its load began;
+     * guarded by {@code items}.
+     */
+    private final Map<Long, Loading> loading = new HashMap<>();
+
+    @Autowired
+    public ItemBookingsReadModel(BookingRepository bookingRepository,
+                                 @Value("${shareit.item.bookings.max-items:100000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.maxItems = maxItems;
+    }
+
+    public LastNextBookingDto get(Long itemId) {
+        return get(List.of(itemId)).get(itemId);
+    }
+
+    public Map<Long, LastNextBookingDto> get(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, LastNextBookingDto> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemBookings bookings = items.get(itemId);
+            LastNextBookingDto snapshot = bookings == null ? null : bookings.snapshot(now);
+            if (snapshot == null) {
+                missing.add(itemId);
+            } else {
+                result.put(itemId, snapshot);
+            }
+        }
+        if (!missing.isEmpty()) {
+            load(missing, now).forEach((itemId, bookings) -> result.put(itemId, bookings.snapshot(now)));
+        }
+        return result;
+    }
+
+    public void add(Booking booking) {
+        Entry entry = new Entry(booking.getItem().getId(), booking.getId(), booking.getBooker().getId(),
+                booking.getStart());
+        afterCommit(() -> {
+            ItemBookings bookings;
+            synchronized (items) {
+                changed(entry.itemId);
+                bookings = items.get(entry.itemId);
+            }
+            if (bookings != null) {
+                bookings.add(entry);
+            }
+        });
+    }
+
+    public void remove(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+        afterCommit(() -> {
+            ItemBookings bookings = null;
+            synchronized (items) {
+                changed(itemId);
+                if (itemByBooking.remove(bookingId) != null) {
+                    bookings = items.remove(itemId);
+                }
+            }
+            if (bookings != null) {
+                bookings.forget();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item.bookings.advance-delay-ms:1000}")
+    public void advance() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Entry first = first(); first != null && !first.start.isAfter(now); first = first()) {
+            upcoming.remove(first);
+            ItemBookings bookings;
+            synchronized (items) {
+                bookings = items.get(first.itemId);
+                if (bookings != null && bookings.isNext(first)) {
+                    items.remove(first.itemId);
+                } else {
+                    bookings = null;
+                }
+            }
+            if (bookings != null) {
+                bookings.forget();
+            }
+        }
+    }
+
+    private Entry first() {
+        return upcoming.isEmpty() ? null : upcoming.first();
+    }
+
+    private void changed(Long itemId) {
+        Loading itemLoading = loading.get(itemId);
+        if (itemLoading != null) {
+            itemLoading.changes++;
+        }
+    }
+
+    /**
+     * Reads items that are not in memory or whose next booking has started. Each is kept only if none
+     * of its bookings changed meanwhile, otherwise the result serves this read and the next read loads
+     * it again.
+     */
+    private Map<Long, ItemBookings> load(List<Long> missing, LocalDateTime now) {
+        Map<Long, Long> versions = new HashMap<>();
+        synchronized (items) {
+            for (Long itemId : missing) {
+                Loading itemLoading = loading.computeIfAbsent(itemId, id -> new Loading());
+                itemLoading.loaders++;
+                versions.put(itemId, itemLoading.changes);
+            }
+        }
+        Map<Long, ItemBookings> loaded = new HashMap<>();
+        boolean complete = false;
+        try {
+            missing.forEach(itemId -> loaded.put(itemId, new ItemBookings()));
+            for (BookingItemView view : bookingRepository.findLastAndNextForItems(missing, now)) {
+                ItemBookings bookings = loaded.get(view.getItemId());
+                if ("LAST".equals(view.getKind())) {
+                    bookings.last = Entry.of(view);
+                } else {
+                    bookings.next = Entry.of(view);
+                }
+            }
+            complete = true;
+        } finally {
+            synchronized (items) {
+                for (Map.Entry<Long, Long> version : versions.entrySet()) {
+                    Long itemId = version.getKey();
+                    Loading itemLoading = loading.get(itemId);
+                    if (complete && itemLoading.changes == version.getValue()) {
+                        store(itemId, loaded.get(itemId));
+                    }
+                    if (--itemLoading.loaders == 0) {
+                        loading.remove(itemId);
+                    }
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private void store(Long itemId, ItemBookings bookings) {
+        if (!items.containsKey(itemId) && items.size() >= maxItems) {
+            evict();
+        }
+        ItemBookings replaced = items.put(itemId, bookings);
+        if (replaced != null) {
+            replaced.forget();
+        }
+        bookings.register();
+    }
+
+    /**
+     * Drops arbitrary items until the store is down to 90% of the limit.
+     */
+    private void evict() {
+        Iterator<ItemBookings> iterator = items.values().iterator();
+        while (items.size() >= maxItems * 9 / 10 && iterator.hasNext()) {
+            ItemBookings bookings = iterator.next();
+            iterator.remove();
+            bookings.forget();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Loading {
+
+        private long changes;
+
+        private int loaders;
+    }
+
+    private final class ItemBookings {
+
+        private Entry last;
+
+        private Entry next;
+
+        private boolean forgotten;
+
+        /**
+         * The bookings as of {@code now}, or null once the next booking has started and the item
+         * has to be loaded again.
+         */
+        private synchronized LastNextBookingDto snapshot(LocalDateTime now) {
+            if (next != null && !next.start.isAfter(now)) {
+                return null;
+            }
+            return LastNextBookingDto.builder()
+                    .lastBooking(last == null ? null : last.toDto())
+                    .nextBooking(next == null ? null : next.toDto())
+                    .build();
+        }
+
+        /**
+         * Takes an approved booking if it becomes the last or the next one; a booking after the next
+         * is read from the database once the next one has started.
+         */
+        private synchronized void add(Entry entry) {
+            if (forgotten) {
+                return;
+            }
+            if (entry.start.isAfter(LocalDateTime.now())) {
+                if (next == null || Entry.ORDER.compare(entry, next) < 0) {
+                    untrack(next);
+                    next = entry;
+                    itemByBooking.put(entry.bookingId, entry.itemId);
+                    upcoming.add(entry);
+                }
+            } else if (last == null || Entry.ORDER.compare(entry, last) > 0) {
+                untrack(last);
+                last = entry;
+                itemByBooking.put(entry.bookingId, entry.itemId);
+            }
+        }
+
+        private synchronized boolean isNext(Entry entry) {
+            return next == entry;
+        }
+
+        private synchronized void register() {
+            if (last != null) {
+                itemByBooking.put(last.bookingId, last.itemId);
+            }
+            if (next != null) {
+                itemByBooking.put(next.bookingId, next.itemId);
+                upcoming.add(next);
+            }
+        }
+
+        private synchronized void forget() {
+            forgotten = true;
+            untrack(last);
+            untrack(next);
+        }
+
+        private void untrack(Entry entry) {
+            if (entry != null) {
+                itemByBooking.remove(entry.bookingId);
+                upcoming.remove(entry);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private static final Comparator<Entry> ORDER = Comparator
+                .comparing((Entry entry) -> entry.start)
+                .thenComparingLong(entry -> entry.bookingId);
+
+        private final long itemId;
+
+        private final long bookingId;
+
+        private final Long bookerId;
+
+        private final LocalDateTime start;
+
+        private Entry(long itemId, long bookingId, Long bookerId, LocalDateTime start) {
+            this.itemId = itemId;
+            this.bookingId = bookingId;
+            this.bookerId = bookerId;
+            this.start = start;
+        }
+
+        private static Entry of(BookingItemView view) {
+            return new Entry(view.getItemId(), view.getId(), view.getBookerId(), view.getStart());
+        }
+
+        private BookingItemDto toDto() {
+            return BookingItemDto.builder()
+                    .id(bookingId)
+                    .bookerId(bookerId)
+                    .build();
+        }
+    }
+}
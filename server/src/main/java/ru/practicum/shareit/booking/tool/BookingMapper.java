@@ -5,6 +5,7 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.dto.BookingApproveDto;
 import ru.practicum.shareit.booking.model.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.model.dto.BookingItemDto;
+import ru.practicum.shareit.booking.model.dto.BookingItemView;
 import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
 import ru.practicum.shareit.item.tool.ItemMapper;
 import ru.practicum.shareit.user.tool.UserMapper;
@@ -62,6 +63,13 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingItemDto toBookingItemDto(final BookingItemView booking) {
+        return booking == null ? null : BookingItemDto.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBookerId())
+                .build();
+    }
+
     public static BookingItemDto toBookingItemDto(final Booking booking) {
         return booking == null ? null : BookingItemDto.builder()
                 .id(booking.getId())
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.bulk.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.bulk.model.dto.ImportResultDto;
+import ru.practicum.shareit.bulk.service.BulkImportService;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping(path = "/import")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Slf4j
+public class BulkImportController {
+
+    private final BulkImportService bulkImportService;
+
+    @PostMapping(path = "/users", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportResultDto importUsers(InputStream rows) {
+        log.debug("Request \"importUsers\"is called.");
+        return bulkImportService.importUsers(rows);
+    }
+
+    @PostMapping(path = "/items", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportResultDto importItems(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                       InputStream rows) {
+        log.debug("Request \"importItems\"is called.");
+        return bulkImportService.importItems(rows, ownerId);
+    }
+
+    @PostMapping(path = "/bookings", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportResultDto importBookings(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                                          InputStream rows) {
+        log.debug("Request \"importBookings\"is called.");
+        return bulkImportService.importBookings(rows, bookerId);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.bulk.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportErrorDto {
+
+    private long line;
+
+    private String error;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.bulk.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one import: rows read, rows stored and why each of the others was skipped,
+ * by line number in the uploaded file.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportResultDto {
+
+    private int total;
+
+    private int imported;
+
+    @Builder.Default
+    private List<ImportErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.bulk.service;
+
+import ru.practicum.shareit.bulk.model.dto.ImportResultDto;
+
+import java.io.InputStream;
+
+public interface BulkImportService {
+
+    ImportResultDto importUsers(InputStream rows);
+
+    ImportResultDto importItems(InputStream rows, Long ownerId);
+
+    ImportResultDto importBookings(InputStream rows, Long bookerId);
+}
@@ -0,0 +1,442 @@
+package ru.practicum.shareit.bulk.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
+import ru.practicum.shareit.booking.exception.BookingTimeException;
+import ru.practicum.shareit.booking.exception.OwnerNotFoundException;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.model.dto.BookingCreationDto;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.bulk.model.dto.ImportErrorDto;
+import ru.practicum.shareit.bulk.model.dto.ImportResultDto;
+import ru.practicum.shareit.item.exception.ItemNotAvailableException;
+import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.request.exception.RequestNotFoundException;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.exception.EmailAlreadyExistsException;
+import ru.practicum.shareit.user.exception.UserNotFoundException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserEmailIndex;
+import ru.practicum.shareit.user.service.UserExistenceCache;
+import ru.practicum.shareit.web.ResourceVersions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads NDJSON uploads line by line and stores them in chunks of {@code shareit.import.chunk-size} rows,
+ * each chunk as one JDBC batch in its own transaction. Rows that fail the same checks as single creates
+ * are reported and skipped; when a chunk still hits a constraint, its rows are retried one by one so
+ * only the offending rows are lost.
+ */
+@Service
+@Slf4j
+public class BulkImportServiceImpl implements BulkImportService {
+
+    private static final String CONFLICT = "Row conflicts with existing data.";
+
+    /**
+     * Allocation size of the entity sequence generators.
+     */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final UserRepository userRepository;
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final UserExistenceCache userExistenceCache;
+
+    private final UserEmailIndex userEmailIndex;
+
+    private final ItemSearchIndex itemSearchIndex;
+
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    private final ResourceVersions resourceVersions;
+
+    private final int chunkSize;
+
+    @Autowired
+    public BulkImportServiceImpl(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 UserRepository userRepository,
+                                 ItemRequestRepository itemRequestRepository,
+                                 UserExistenceCache userExistenceCache,
+                                 UserEmailIndex userEmailIndex,
+                                 ItemSearchIndex itemSearchIndex,
+                                 BookingIntervalIndex bookingIntervalIndex,
+                                 ResourceVersions resourceVersions,
+                                 @Value("${shareit.import.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = namedParameterJdbcTemplate.getJdbcTemplate();
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.userExistenceCache = userExistenceCache;
+        this.userEmailIndex = userEmailIndex;
+        this.itemSearchIndex = itemSearchIndex;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.resourceVersions = resourceVersions;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportResultDto importUsers(InputStream rows) {
+        Set<String> emails = new HashSet<>();
+        return importRows(rows, UserDto.class, new ChunkWriter<>() {
+            @Override
+            public List<String> check(List<UserDto> users) {
+                return users.stream()
+                        .map(user -> checkUser(user, emails))
+                        .collect(Collectors.toList());
+            }
+
+            @Override
+            public void insert(List<UserDto> users) {
+                List<Long> ids = batchInsert("users_seq", "insert into users (id, name, email) values (?, ?, ?)", users,
+                        (statement, user) -> {
+                            statement.setString(2, user.getName());
+                            statement.setString(3, user.getEmail());
+                        });
+                resourceVersions.touch(ResourceVersions.USERS);
+                for (int i = 0; i < ids.size(); i++) {
+                    userExistenceCache.invalidate(ids.get(i));
+                    userEmailIndex.put(ids.get(i), users.get(i).getEmail());
+                }
+            }
+        });
+    }
+
+    private String checkUser(UserDto user, Set<String> emails) {
+        if (user.getName() == null || user.getEmail() == null) {
+            return "Name and email are required.";
+        }
+        if (!emails.add(user.getEmail())) {
+            return String.format("Email = %s is repeated in the file.", user.getEmail());
+        }
+        if (userEmailIndex.findId(user.getEmail()).isPresent() && userRepository.existsByEmail(user.getEmail())) {
+            return new EmailAlreadyExistsException(user.getEmail()).getMessage();
+        }
+        return null;
+    }
+
+    @Override
+    public ImportResultDto importItems(InputStream rows, Long ownerId) {
+        if (!userExistenceCache.exists(ownerId)) {
+            throw new UserNotFoundException(ownerId);
+        }
+        Map<Long, Boolean> requests = new HashMap<>();
+        return importRows(rows, ItemDto.class, new ChunkWriter<>() {
+            @Override
+            public List<String> check(List<ItemDto> items) {
+                return items.stream()
+                        .map(item -> checkItem(item, requests))
+                        .collect(Collectors.toList());
+            }
+
+            @Override
+            public void insert(List<ItemDto> items) {
+                List<Long> ids = batchInsert("items_seq",
+                        "insert into items (id, name, description, available, owner_id, request_id) "
+                                + "values (?, ?, ?, ?, ?, ?)",
+                        items,
+                        (statement, item) -> {
+                            statement.setString(2, item.getName());
+                            statement.setString(3, item.getDescription());
+                            statement.setBoolean(4, item.getAvailable());
+                            statement.setLong(5, ownerId);
+                            if (item.getRequestId() == null) {
+                                statement.setNull(6, Types.BIGINT);
+                            } else {
+                                statement.setLong(6, item.getRequestId());
+                            }
+                        });
+                resourceVersions.touch(ResourceVersions.ITEMS);
+                for (int i = 0; i < ids.size(); i++) {
+                    ItemDto item = items.get(i);
+                    itemSearchIndex.put(Item.builder()
+                            .id(ids.get(i))
+                            .name(item.getName())
+                            .description(item.getDescription())
+                            .available(item.getAvailable())
+                            .owner(User.builder().id(ownerId).build())
+                            .request(item.getRequestId() == null
+                                    ? null
+                                    : ItemRequest.builder().id(item.getRequestId()).build())
+                            .build());
+                }
+            }
+        });
+    }
+
+    private String checkItem(ItemDto item, Map<Long, Boolean> requests) {
+        if (item.getName() == null || item.getDescription() == null || item.getAvailable() == null) {
+            return "Name, description and available are required.";
+        }
+        if (item.getRequestId() != null
+                && !requests.computeIfAbsent(item.getRequestId(), itemRequestRepository::existsById)) {
+            return new RequestNotFoundException(item.getRequestId()).getMessage();
+        }
+        return null;
+    }
+
+    @Override
+    public ImportResultDto importBookings(InputStream rows, Long bookerId) {
+        if (!userExistenceCache.exists(bookerId)) {
+            throw new UserNotFoundException(bookerId);
+        }
+        return importRows(rows, BookingCreationDto.class, new ChunkWriter<>() {
+            @Override
+            public List<String> check(List<BookingCreationDto> bookings) {
+                Map<Long, ItemRef> items = findItems(bookings.stream()
+                        .map(BookingCreationDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()));
+                return bookings.stream()
+                        .map(booking -> checkBooking(booking, items.get(booking.getItemId()), bookerId))
+                        .collect(Collectors.toList());
+            }
+
+            @Override
+            public void insert(List<BookingCreationDto> bookings) {
+                batchInsert("bookings_seq",
+                        "insert into bookings (id, start_date, end_date, status, item_id, booker_id) "
+                                + "values (?, ?, ?, ?, ?, ?)",
+                        bookings,
+                        (statement, booking) -> {
+                            statement.setTimestamp(2, Timestamp.valueOf(booking.getStart()));
+                            statement.setTimestamp(3, Timestamp.valueOf(booking.getEnd()));
+                            statement.setString(4, Status.WAITING.name());
+                            statement.setLong(5, booking.getItemId());
+                            statement.setLong(6, bookerId);
+                        });
+            }
+        });
+    }
+
+    private String checkBooking(BookingCreationDto booking, ItemRef item, Long bookerId) {
+        if (booking.getItemId() == null || booking.getStart() == null || booking.getEnd() == null) {
+            return "Item, start and end are required.";
+        }
+        if (!booking.getStart().isBefore(booking.getEnd())) {
+            return new BookingTimeException("Start is not before end").getMessage();
+        }
+        if (item == null) {
+            return new ItemNotFoundException(booking.getItemId()).getMessage();
+        }
+        if (!item.available) {
+            return new ItemNotAvailableException(booking.getItemId()).getMessage();
+        }
+        if (item.ownerId == bookerId) {
+            return new OwnerNotFoundException().getMessage();
+        }
+        if (bookingIntervalIndex.overlaps(booking.getItemId(), booking.getStart(), booking.getEnd())) {
+            return new BookingOverlapException(booking.getItemId()).getMessage();
+        }
+        return null;
+    }
+
+    private Map<Long, ItemRef> findItems(Set<Long> itemIds) {
+        Map<Long, ItemRef> items = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return items;
+        }
+        namedParameterJdbcTemplate.query("select id, owner_id, available from items where id in (:ids)",
+                Map.of("ids", itemIds),
+                resultSet -> {
+                    items.put(resultSet.getLong("id"),
+                            new ItemRef(resultSet.getLong("owner_id"), resultSet.getBoolean("available")));
+                });
+        return items;
+    }
+
+    private <T> ImportResultDto importRows(InputStream rows, Class<T> type, ChunkWriter<T> writer) {
+        ImportResultDto result = ImportResultDto.builder().build();
+        List<Row<T>> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(rows, StandardCharsets.UTF_8))) {
+            long line = 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                result.setTotal(result.getTotal() + 1);
+                try {
+                    chunk.add(new Row<>(line, objectMapper.readValue(text, type)));
+                } catch (JsonProcessingException e) {
+                    addError(result, line, "Row is not valid JSON.");
+                    continue;
+                }
+                if (chunk.size() == chunkSize) {
+                    write(chunk, writer, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, writer, result);
+        }
+        result.getErrors().sort(Comparator.comparingLong(ImportErrorDto::getLine));
+        log.info("Imported {} of {} {} rows.", result.getImported(), result.getTotal(), type.getSimpleName());
+        return result;
+    }
+
+    private <T> void write(List<Row<T>> chunk, ChunkWriter<T> writer, ImportResultDto result) {
+        List<String> errors = writer.check(chunk.stream().map(row -> row.value).collect(Collectors.toList()));
+        List<Row<T>> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (errors.get(i) == null) {
+                valid.add(chunk.get(i));
+            } else {
+                addError(result, chunk.get(i).line, errors.get(i));
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        try {
+            insert(valid, writer);
+            result.setImported(result.getImported() + valid.size());
+        } catch (DataAccessException e) {
+            log.debug("Chunk insert failed, retrying its rows one by one.", e);
+            for (Row<T> row : valid) {
+                try {
+                    insert(List.of(row), writer);
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowError) {
+                    addError(result, row.line, CONFLICT);
+                }
+            }
+        }
+    }
+
+    private <T> void insert(List<Row<T>> rows, ChunkWriter<T> writer) {
+        List<T> values = rows.stream().map(row -> row.value).collect(Collectors.toList());
+        transactionTemplate.executeWithoutResult(status -> writer.insert(values));
+    }
+
+    /**
+     * Takes ids for all rows from the table's sequence, binds each id as the first parameter and sends the rows
+     * as one JDBC batch. Returns the ids in row order.
+     */
+    private <T> List<Long> batchInsert(String sequence,
+                                       String sql,
+                                       List<T> rows,
+                                       ParameterizedPreparedStatementSetter<T> setter) {
+        List<Long> ids = allocateIds(sequence, rows.size());
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setLong(1, ids.get(i));
+                setter.setValues(statement, rows.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * Reserves ids the way Hibernate's pooled optimizer does: each sequence value is the top of a block of
+     * {@link #ID_BLOCK_SIZE} ids, so imported rows never collide with ids handed out by the entities.
+     */
+    private List<Long> allocateIds(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            Long hi = jdbcTemplate.queryForObject("select nextval('" + sequence + "')", Long.class);
+            for (long id = hi - ID_BLOCK_SIZE + 1; id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static void addError(ImportResultDto result, long line, String error) {
+        result.getErrors().add(ImportErrorDto.builder().line(line).error(error).build());
+    }
+
+    private interface ChunkWriter<T> {
+
+        /**
+         * Returns, for each row, why it cannot be imported, or null when it can.
+         */
+        List<String> check(List<T> rows);
+
+        void insert(List<T> rows);
+    }
+
+    private static final class Row<T> {
+
+        private final long line;
+
+        private final T value;
+
+        private Row(long line, T value) {
+            this.line = line;
+            this.value = value;
+        }
+    }
+
+    private static final class ItemRef {
+
+        private final long ownerId;
+
+        private final boolean available;
+
+        private ItemRef(long ownerId, boolean available) {
+            this.ownerId = ownerId;
+            this.available = available;
+        }
+    }
+}
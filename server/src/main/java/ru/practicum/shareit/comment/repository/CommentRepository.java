@@ -1,9 +1,11 @@
 package ru.practicum.shareit.comment.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.comment.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +13,7 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findAllByItemIdOrderByCreated(Long itemId);
 
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByItemIdInOrderByCreated(Collection<Long> itemIds);
+
 }
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.error;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.booking.exception.BookingNotFoundException;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
 import ru.practicum.shareit.booking.exception.BookingStatusException;
 import ru.practicum.shareit.booking.exception.BookingTimeException;
 import ru.practicum.shareit.booking.exception.OwnerNotFoundException;
@@ -17,7 +19,10 @@ import ru.practicum.shareit.request.exception.RequestNotFoundException;
 import ru.practicum.shareit.user.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.user.exception.IdUserNotFoundException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
+import ru.practicum.shareit.web.DeadlineInterceptor;
+import ru.practicum.shareit.web.exception.DeadlineExceededException;
 
+import javax.servlet.http.HttpServletResponse;
 import java.time.LocalDateTime;
 
 @RestControllerAdvice(basePackages = "ru.practicum.shareit")
@@ -38,7 +43,11 @@ public final class ErrorController {
         return new ErrorResponse("NOT_FOUND", 404, e.getMessage(), LocalDateTime.now().withNano(0));
     }
 
-    @ExceptionHandler({ EmailAlreadyExistsException.class })
+    @ExceptionHandler({
+            EmailAlreadyExistsException.class,
+            BookingOverlapException.class,
+            OptimisticLockingFailureException.class
+    })
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse handleAlreadyExistError(final RuntimeException e) {
         log.warn(e.getMessage());
@@ -58,4 +67,12 @@ public final class ErrorController {
         return new ErrorResponse("BAD_REQUEST", 400, e.getMessage(), LocalDateTime.now().withNano(0));
     }
 
+    @ExceptionHandler(DeadlineExceededException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleDeadlineExceeded(final RuntimeException e, HttpServletResponse response) {
+        log.warn(e.getMessage());
+        response.setHeader(DeadlineInterceptor.DEADLINE_EXCEEDED_HEADER, "true");
+        return new ErrorResponse("SERVICE_UNAVAILABLE", 503, e.getMessage(), LocalDateTime.now().withNano(0));
+    }
+
 }
@@ -38,9 +38,11 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemBookingsDto> getItemsByOwnerId(@RequestHeader("X-Sharer-User-Id") long ownerId) {
+    public List<ItemBookingsDto> getItemsByOwnerId(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                   @RequestParam(defaultValue = "0") int from,
+                                                   @RequestParam(defaultValue = "10") int size) {
         log.debug("Request \"getItemsByOwnerId\"is called.");
-        return itemService.getByOwnerId(ownerId);
+        return itemService.getByOwnerId(ownerId, from, size);
     }
 
     @GetMapping("/search")
@@ -48,7 +50,7 @@ public class ItemController {
                                      @RequestParam(defaultValue = "0") int from,
                                      @RequestParam(defaultValue = "10") int size) {
         log.debug("Request \"searchItems\"is called.");
-        return itemService.search(text);
+        return itemService.search(text, from, size);
     }
 
     @GetMapping("/{itemId}")
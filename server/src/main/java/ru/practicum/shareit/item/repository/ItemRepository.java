@@ -1,23 +1,37 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     @Query(value = "select * " +
                    "from items i " +
-                   "where (i.name ilike concat('%', ?1, '%') or i.description ilike concat('%', ?1, '%')) and i.available = true",
+                   "where (i.name ilike concat('%', ?1, '%') or i.description ilike concat('%', ?1, '%')) and i.available = true " +
+                   "order by case when i.name ilike concat('%', ?1, '%') then 0 else 1 end, i.id",
             nativeQuery = true)
-    List<Item> findAllByNameAndDescription(String text);
+    List<Item> findAllByNameAndDescription(String text, Pageable pageable);
+
+    List<Item> findAllByAvailableTrue();
 
     List<Item> findAllByOwnerId(Long ownerId);
 
+    List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+
     List<Item> findByRequestIdIn(Set<Long> requestIds);
 
     List<Item> findByRequestId(Long requestId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,291 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.tool.ItemMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Trigram index over available items that answers the same case-insensitive substring search
+ * as {@link ItemRepository#findAllByNameAndDescription} without touching the database.
+ * Candidates come from intersecting the posting lists of the query trigrams and are then
+ * checked against the stored text, so trigrams only narrow the search and never change its result.
+ */
+@Component
+@Slf4j
+public class ItemSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private static final int NO_MATCH = -1;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    private final Set<Long> touchedWhileRebuilding = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready;
+
+    private volatile boolean rebuilding;
+
+    @Autowired
+    public ItemSearchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread thread = new Thread(this::rebuild, "item-search-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reloads the index from the database. Searches fall back to SQL until it completes.
+     */
+    public synchronized void rebuild() {
+        ready = false;
+        rebuilding = true;
+        touchedWhileRebuilding.clear();
+        entries.clear();
+        postings.clear();
+        try {
+            List<Item> items = itemRepository.findAllByAvailableTrue();
+            items.forEach(this::index);
+            synchronized (entries) {
+                Set<Long> touched = new HashSet<>(touchedWhileRebuilding);
+                if (!touched.isEmpty()) {
+                    touched.forEach(this::unindex);
+                    itemRepository.findAllById(touched).forEach(this::index);
+                }
+            }
+            ready = true;
+            log.info("Item search index is built with {} items.", entries.size());
+        } catch (RuntimeException e) {
+            log.warn("Item search index rebuild failed, search stays on SQL.", e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns one window of matching available items, name matches first and then by id,
+     * or empty when the index is not ready. Only {@code offset + limit} matches are kept while scanning.
+     */
+    public Optional<List<ItemDto>> search(String text, int offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        String query = text.toLowerCase(Locale.ROOT);
+        int window = offset + limit;
+        PriorityQueue<Hit> top = new PriorityQueue<>(Hit.ORDER.reversed());
+        for (Long id : candidates(query)) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            int rank = entry.rank(query);
+            if (rank == NO_MATCH) {
+                continue;
+            }
+            top.add(new Hit(rank, entry.item));
+            if (top.size() > window) {
+                top.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Hit.ORDER);
+        List<ItemDto> result = new ArrayList<>();
+        for (int i = offset; i < hits.size(); i++) {
+            result.add(hits.get(i).item);
+        }
+        return Optional.of(result);
+    }
+
+    public void put(Item item) {
+        ItemDto dto = ItemMapper.toDto(item);
+        Long ownerId = item.getOwner() == null ? null : item.getOwner().getId();
+        afterCommit(() -> update(dto, ownerId));
+    }
+
+    public void remove(Long itemId) {
+        afterCommit(() -> delete(itemId));
+    }
+
+    public void removeByOwner(Long ownerId) {
+        afterCommit(() -> entries.values().stream()
+                .filter(entry -> ownerId.equals(entry.ownerId))
+                .map(entry -> entry.item.getId())
+                .collect(Collectors.toList())
+                .forEach(this::delete));
+    }
+
+    private void update(ItemDto dto, Long ownerId) {
+        touch(dto.getId());
+        synchronized (entries) {
+            unindex(dto.getId());
+            if (Boolean.TRUE.equals(dto.getAvailable())) {
+                index(new Entry(dto, ownerId));
+            }
+        }
+    }
+
+    private void delete(Long itemId) {
+        touch(itemId);
+        synchronized (entries) {
+            unindex(itemId);
+        }
+    }
+
+    private void touch(Long itemId) {
+        if (rebuilding) {
+            touchedWhileRebuilding.add(itemId);
+        }
+    }
+
+    private void index(Item item) {
+        if (Boolean.TRUE.equals(item.getAvailable())) {
+            index(new Entry(ItemMapper.toDto(item), item.getOwner() == null ? null : item.getOwner().getId()));
+        }
+    }
+
+    private void index(Entry entry) {
+        Long id = entry.item.getId();
+        entries.put(id, entry);
+        for (String gram : entry.grams()) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unindex(Long itemId) {
+        Entry entry = entries.remove(itemId);
+        if (entry == null) {
+            return;
+        }
+        for (String gram : entry.grams()) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(itemId);
+            }
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return entries.keySet();
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null || ids.isEmpty()) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> smallest = lists.get(0);
+        List<Set<Long>> rest = lists.subList(1, lists.size());
+        return smallest.stream()
+                .filter(id -> rest.stream().allMatch(ids -> ids.contains(id)))
+                .collect(Collectors.toList());
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Hit {
+
+        private static final Comparator<Hit> ORDER = Comparator
+                .comparingInt((Hit hit) -> hit.rank)
+                .thenComparing(hit -> hit.item.getId());
+
+        private final int rank;
+
+        private final ItemDto item;
+
+        private Hit(int rank, ItemDto item) {
+            this.rank = rank;
+            this.item = item;
+        }
+    }
+
+    private static final class Entry {
+
+        private final ItemDto item;
+
+        private final Long ownerId;
+
+        private final String name;
+
+        private final String description;
+
+        private Entry(ItemDto item, Long ownerId) {
+            this.item = item;
+            this.ownerId = ownerId;
+            this.name = lower(item.getName());
+            this.description = lower(item.getDescription());
+        }
+
+        private int rank(String query) {
+            if (name.contains(query)) {
+                return 0;
+            }
+            return description.contains(query) ? 1 : NO_MATCH;
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = ItemSearchIndex.grams(name);
+            grams.addAll(ItemSearchIndex.grams(description));
+            return grams;
+        }
+
+        private static String lower(String value) {
+            return value == null ? "" : value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
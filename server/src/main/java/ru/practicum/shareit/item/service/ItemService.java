@@ -13,11 +13,11 @@ public interface ItemService {
 
     List<ItemDto> getAll();
 
-    List<ItemDto> search(String text);
+    List<ItemDto> search(String text, int from, int size);
 
     ItemBookingsDto getById(Long id, Long ownerId);
 
-    List<ItemBookingsDto> getByOwnerId(Long ownerId);
+    List<ItemBookingsDto> getByOwnerId(Long ownerId, int from, int size);
 
     void removeById(Long id);
 
@@ -2,12 +2,12 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.Status;
-import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.model.dto.LastNextBookingDto;
+import ru.practicum.shareit.booking.service.ItemBookingsReadModel;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.model.dto.ItemBookingsDto;
@@ -16,14 +16,15 @@ import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.tool.ItemMapper;
+import ru.practicum.shareit.request.exception.PaginationParamException;
 import ru.practicum.shareit.request.exception.RequestNotFoundException;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.web.ResourceVersions;
 
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -32,16 +33,22 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
 
+    private static final int MAX_SEARCH_SIZE = 100;
+
     private final ItemRepository itemRepository;
 
     private final UserRepository userRepository;
 
     private final CommentRepository commentRepository;
 
-    private final BookingRepository bookingRepository;
-
     private final ItemRequestRepository itemRequestRepository;
 
+    private final ItemSearchIndex itemSearchIndex;
+
+    private final ItemBookingsReadModel itemBookingsReadModel;
+
+    private final ResourceVersions resourceVersions;
+
     @Override
     @Transactional
     public ItemDto create(ItemDto itemDto, Long ownerId) {
@@ -60,7 +67,10 @@ public class ItemServiceImpl implements ItemService {
             ItemRequest itemRequest = optionalItemRequest.get();
             item.setRequest(itemRequest);
         }
-        return ItemMapper.toDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        resourceVersions.touch(ResourceVersions.ITEMS);
+        itemSearchIndex.put(savedItem);
+        return ItemMapper.toDto(savedItem);
     }
 
     @Override
@@ -84,6 +94,8 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(patchItem.getAvailable());
         }
         itemRepository.save(item);
+        resourceVersions.touch(ResourceVersions.ITEMS);
+        itemSearchIndex.put(item);
         return ItemMapper.toDto(item);
     }
 
@@ -96,38 +108,53 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> search(String text) {
+    public List<ItemDto> search(String text, int from, int size) {
+        if (from < 0 || size <= 0) {
+            throw new PaginationParamException("Params size and from cannot be <= 0.");
+        }
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.findAllByNameAndDescription(text)
-                .stream()
-                .map(ItemMapper::toDto)
-                .collect(Collectors.toList());
+        int limit = Math.min(size, MAX_SEARCH_SIZE);
+        int offset = from / limit * limit;
+        return itemSearchIndex.search(text, offset, limit)
+                .orElseGet(() -> itemRepository.findAllByNameAndDescription(text, PageRequest.of(offset / limit, limit))
+                        .stream()
+                        .map(ItemMapper::toDto)
+                        .collect(Collectors.toList()));
     }
 
     @Override
-    public List<ItemBookingsDto> getByOwnerId(Long ownerId) {
-        List<Item> items = itemRepository.findAllByOwnerId(ownerId);
+    public List<ItemBookingsDto> getByOwnerId(Long ownerId, int from, int size) {
+        if (from < 0 || size <= 0) {
+            throw new PaginationParamException("Params size and from cannot be <= 0.");
+        }
+        List<Item> items = itemRepository.findAllByOwnerId(
+                ownerId,
+                PageRequest.of(from / size, size, Sort.by(Sort.Direction.ASC, "id")));
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
         List<Long> idList = items
                 .stream()
                 .map(Item::getId)
                 .collect(Collectors.toList());
-        Map<Long, Booking> beforeBookings = bookingRepository.findLatestBookingsForItems(idList)
-                .stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
-
-        Map<Long, Booking> afterBookings = bookingRepository.findFutureBookingsForItems(idList)
+        Map<Long, LastNextBookingDto> bookings = itemBookingsReadModel.get(idList);
+        Map<Long, List<Comment>> comments = commentRepository.findAllByItemIdInOrderByCreated(idList)
                 .stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
 
         return items
                 .stream()
-                .map(item -> ItemMapper.toBookingsDto(
-                        item,
-                        beforeBookings.get(item.getId()),
-                        afterBookings.get(item.getId())))
-                .sorted(Comparator.comparing(ItemBookingsDto::getId))
+                .map(item -> {
+                    LastNextBookingDto itemBookings = bookings.getOrDefault(item.getId(),
+                            LastNextBookingDto.builder().build());
+                    return ItemMapper.toBookingsDto(
+                            item,
+                            itemBookings.getLastBooking(),
+                            itemBookings.getNextBooking(),
+                            comments.getOrDefault(item.getId(), Collections.emptyList()));
+                })
                 .collect(Collectors.toList());
     }
 
@@ -138,27 +165,14 @@ public class ItemServiceImpl implements ItemService {
             throw new ItemNotFoundException(id);
         }
         if (item.get().getOwner().getId().equals(ownerId)) {
-            Optional<Booking> beforeBooking = bookingRepository.findFirstByItemIdAndStartIsBeforeAndStatus(
-                    id,
-                    LocalDateTime.now(),
-                    Status.APPROVED,
-                    Sort.by(Sort.Direction.DESC, "start")
-            );
-            Optional<Booking> afterBooking = bookingRepository.findFirstByItemIdAndStartIsAfterAndStatus(
-                    id,
-                    LocalDateTime.now(),
-                    Status.APPROVED,
-                    Sort.by(Sort.Direction.ASC, "start")
-            );
-
+            LastNextBookingDto bookings = itemBookingsReadModel.get(id);
             return ItemMapper.toBookingsDto(item.get(),
-                    beforeBooking.orElse(null),
-                    afterBooking.orElse(null),
+                    bookings.getLastBooking(),
+                    bookings.getNextBooking(),
                     getComments(item.get().getId()));
-
         } else {
             return ItemMapper.toBookingsDto(item.get(),
-                   null,
+                    null,
                     null,
                     getComments(item.get().getId()));
         }
@@ -176,6 +190,8 @@ public class ItemServiceImpl implements ItemService {
             throw new ItemNotFoundException(id);
         }
         itemRepository.deleteById(id);
+        resourceVersions.touch(ResourceVersions.ITEMS);
+        itemSearchIndex.remove(id);
     }
 
 }
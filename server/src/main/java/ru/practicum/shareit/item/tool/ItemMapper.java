@@ -1,8 +1,7 @@
 package ru.practicum.shareit.item.tool;
 
 import lombok.experimental.UtilityClass;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.tool.BookingMapper;
+import ru.practicum.shareit.booking.model.dto.BookingItemDto;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.tool.CommentMapper;
 import ru.practicum.shareit.item.model.dto.ItemBookingsDto;
@@ -35,25 +34,15 @@ public class ItemMapper {
                 .build();
     }
 
-    public ItemBookingsDto toBookingsDto(final Item item, Booking last, Booking next) {
+    public ItemBookingsDto toBookingsDto(final Item item, BookingItemDto last, BookingItemDto next,
+                                         List<Comment> comments) {
         return ItemBookingsDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .lastBooking(BookingMapper.toBookingItemDto(last))
-                .nextBooking(BookingMapper.toBookingItemDto(next))
-                .build();
-    }
-
-    public ItemBookingsDto toBookingsDto(final Item item, Booking last, Booking next, List<Comment> comments) {
-        return ItemBookingsDto.builder()
-                .id(item.getId())
-                .name(item.getName())
-                .description(item.getDescription())
-                .available(item.getAvailable())
-                .lastBooking(BookingMapper.toBookingItemDto(last))
-                .nextBooking(BookingMapper.toBookingItemDto(next))
+                .lastBooking(last)
+                .nextBooking(next)
                 .comments(comments
                         .stream()
                         .map(CommentMapper::toDto)
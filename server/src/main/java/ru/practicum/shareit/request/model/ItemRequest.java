@@ -19,7 +19,8 @@ import java.util.Objects;
 public class ItemRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", schema = "public", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
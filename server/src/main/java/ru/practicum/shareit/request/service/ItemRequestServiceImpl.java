@@ -18,6 +18,8 @@ import ru.practicum.shareit.request.tool.ItemRequestMapper;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
+import ru.practicum.shareit.web.ResourceVersions;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -32,8 +34,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final UserRepository userRepository;
 
+    private final UserExistenceCache userExistenceCache;
+
     private final ItemRepository itemRepository;
 
+    private final ResourceVersions resourceVersions;
+
     @Override
     @Transactional
     public ItemRequestCreationDto create(ItemRequestCreationDto itemRequestCreationDto, Long requesterId) {
@@ -44,12 +50,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         }
         User user = optionalUser.get();
         ItemRequest itemRequest = ItemRequestMapper.fromItemRequestCreationDto(itemRequestCreationDto, user);
-        return ItemRequestMapper.toItemRequestCreationDto(itemRequestRepository.save(itemRequest));
+        ItemRequest savedRequest = itemRequestRepository.save(itemRequest);
+        resourceVersions.touch(ResourceVersions.REQUESTS);
+        return ItemRequestMapper.toItemRequestCreationDto(savedRequest);
     }
 
     @Override
     public Collection<ItemRequestSendingDto> getRequests(Long requesterId) {
-        if (!userRepository.existsById(requesterId)) {
+        if (!userExistenceCache.exists(requesterId)) {
             throw new UserNotFoundException(requesterId);
         }
         Map<Long, ItemRequestSendingDto> requestsMap = itemRequestRepository.findAllByRequesterId(requesterId)
@@ -73,7 +81,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public Collection<ItemRequestSendingDto> getRequests(int from, int size, long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new UserNotFoundException(userId);
         }
 
@@ -95,7 +103,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestSendingDto getRequest(Long requestId, long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new UserNotFoundException(userId);
         }
         Optional<ItemRequest> optionalItemRequest = itemRequestRepository.findById(requestId);
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.schema;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports on startup every index the repository queries rely on but the database does not have.
+ * An index counts when its leading columns are the expected ones, whatever its name.
+ */
+@Component
+@Slf4j
+public class IndexCheck {
+
+    private static final Map<String, List<List<String>>> EXPECTED = Map.of(
+            "bookings", List.of(List.of("booker_id", "start_date"), List.of("item_id", "start_date")),
+            "items", List.of(List.of("owner_id"), List.of("request_id")),
+            "comments", List.of(List.of("item_id")),
+            "requests", List.of(List.of("requester_id")));
+
+    private final DataSource dataSource;
+
+    private final Map<String, List<List<String>>> expected;
+
+    @Autowired
+    public IndexCheck(DataSource dataSource) {
+        this(dataSource, EXPECTED);
+    }
+
+    IndexCheck(DataSource dataSource, Map<String, List<List<String>>> expected) {
+        this.dataSource = dataSource;
+        this.expected = expected;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportMissingIndexes() {
+        try {
+            List<String> missing = findMissingIndexes();
+            if (missing.isEmpty()) {
+                log.info("All expected indexes are present.");
+            } else {
+                log.warn("Missing indexes: {}.", missing);
+            }
+        } catch (SQLException e) {
+            log.warn("Index check failed: {}.", e.getMessage());
+        }
+    }
+
+    public List<String> findMissingIndexes() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<List<String>>> table : expected.entrySet()) {
+                List<List<String>> indexes = readIndexes(metaData, table.getKey());
+                for (List<String> columns : table.getValue()) {
+                    if (indexes.stream().noneMatch(index -> startsWith(index, columns))) {
+                        missing.add(table.getKey() + columns);
+                    }
+                }
+            }
+        }
+        return missing;
+    }
+
+    private static List<List<String>> readIndexes(DatabaseMetaData metaData, String table) throws SQLException {
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, TreeMap<Short, String>> columnsByIndex = new TreeMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, name, false, true)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (index == null || column == null) {
+                    continue;
+                }
+                columnsByIndex.computeIfAbsent(index, key -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+        List<List<String>> indexes = new ArrayList<>();
+        columnsByIndex.values().forEach(columns -> indexes.add(new ArrayList<>(columns.values())));
+        return indexes;
+    }
+
+    private static boolean startsWith(List<String> index, List<String> columns) {
+        return index.size() >= columns.size() && index.subList(0, columns.size()).equals(columns);
+    }
+}
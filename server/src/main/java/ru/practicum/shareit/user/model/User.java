@@ -16,7 +16,9 @@ import java.util.Objects;
 @Table(name = "users", schema = "public")
 public class User {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", schema = "public", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
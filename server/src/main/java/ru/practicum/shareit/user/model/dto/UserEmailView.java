@@ -0,0 +1,11 @@
+package ru.practicum.shareit.user.model.dto;
+
+/**
+ * User reduced to the pair the email index keeps.
+ */
+public interface UserEmailView {
+
+    Long getId();
+
+    String getEmail();
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.model.dto.UserEmailView;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Email to user id for every user, loaded at startup and updated after each committed change.
+ * It is a hint: a hit still has to be confirmed by the database, and a miss is guarded by the
+ * unique constraint, so changes made by another server node only cost a round trip here.
+ */
+@Component
+@Slf4j
+public class UserEmailIndex {
+
+    private final UserRepository userRepository;
+
+    private final Map<String, Long> idByEmail = new ConcurrentHashMap<>();
+
+    private final Map<Long, String> emailById = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UserEmailIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Loads all users without overwriting entries that changed while loading.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (UserEmailView user : userRepository.findAllProjectedBy()) {
+            synchronized (this) {
+                if (emailById.putIfAbsent(user.getId(), user.getEmail()) == null) {
+                    idByEmail.putIfAbsent(user.getEmail(), user.getId());
+                }
+            }
+        }
+        log.info("User email index is loaded with {} users.", emailById.size());
+    }
+
+    public Optional<Long> findId(String email) {
+        return Optional.ofNullable(idByEmail.get(email));
+    }
+
+    public void put(Long userId, String email) {
+        afterCommit(() -> update(userId, email));
+    }
+
+    public void remove(Long userId) {
+        afterCommit(() -> delete(userId));
+    }
+
+    private synchronized void update(Long userId, String email) {
+        String oldEmail = emailById.put(userId, email);
+        if (oldEmail != null && !oldEmail.equals(email)) {
+            idByEmail.remove(oldEmail, userId);
+        }
+        idByEmail.put(email, userId);
+    }
+
+    private synchronized void delete(Long userId) {
+        String email = emailById.remove(userId);
+        if (email != null) {
+            idByEmail.remove(email, userId);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
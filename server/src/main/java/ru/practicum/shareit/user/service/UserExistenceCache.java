@@ -0,0 +1,129 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "does this user exist" from memory for the checks that open most requests. Known users are
+ * remembered for {@code shareit.user.cache.ttl-ms}; unknown ids only when
+ * {@code shareit.user.cache.negative-ttl-ms} is positive. Creating, changing or removing a user drops
+ * its entry after commit, and a lookup that overlapped such a change is not stored.
+ */
+@Component
+public class UserExistenceCache {
+
+    private final UserRepository userRepository;
+
+    private final long ttlNanos;
+
+    private final long negativeTtlNanos;
+
+    private final int maxSize;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong changes = new AtomicLong();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    @Autowired
+    public UserExistenceCache(UserRepository userRepository,
+                              @Value("${shareit.user.cache.ttl-ms:60000}") long ttlMs,
+                              @Value("${shareit.user.cache.negative-ttl-ms:0}") long negativeTtlMs,
+                              @Value("${shareit.user.cache.max-size:100000}") int maxSize,
+                              MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("shareit.user.cache")
+                .description("User existence checks answered from memory")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("shareit.user.cache")
+                .description("User existence checks that went to the database")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public boolean exists(Long userId) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.expiresAt < 0) {
+            hits.increment();
+            return entry.exists;
+        }
+        misses.increment();
+        long version = changes.get();
+        boolean exists = userRepository.existsById(userId);
+        long ttl = exists ? ttlNanos : negativeTtlNanos;
+        if (ttl > 0) {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(userId, new Entry(exists, now + ttl));
+            if (changes.get() != version) {
+                entries.remove(userId);
+            }
+        }
+        return exists;
+    }
+
+    public void invalidate(Long userId) {
+        afterCommit(() -> {
+            changes.incrementAndGet();
+            entries.remove(userId);
+        });
+    }
+
+    /**
+     * Drops expired entries, then arbitrary ones until the table is back to 90% of its size.
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+        Iterator<Long> ids = entries.keySet().iterator();
+        while (entries.size() > maxSize * 9 / 10 && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Entry {
+
+        private final boolean exists;
+
+        private final long expiresAt;
+
+        private Entry(boolean exists, long expiresAt) {
+            this.exists = exists;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -5,12 +5,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
 import ru.practicum.shareit.user.model.dto.UserDto;
 import ru.practicum.shareit.user.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.tool.UserMapper;
+import ru.practicum.shareit.web.ResourceVersions;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,11 +25,25 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final ItemSearchIndex itemSearchIndex;
+
+    private final UserExistenceCache userExistenceCache;
+
+    private final UserEmailIndex userEmailIndex;
+
+    private final ResourceVersions resourceVersions;
+
     @Override
     @Transactional
     public UserDto create(UserDto user) {
+        checkEmailIsFree(user.getEmail(), null);
         try {
-            return UserMapper.toDto(userRepository.save(UserMapper.fromDto(user)));
+            User savedUser = userRepository.save(UserMapper.fromDto(user));
+            userRepository.flush();
+            resourceVersions.touch(ResourceVersions.USERS);
+            userExistenceCache.invalidate(savedUser.getId());
+            userEmailIndex.put(savedUser.getId(), savedUser.getEmail());
+            return UserMapper.toDto(savedUser);
         } catch (DataIntegrityViolationException e) {
             throw new EmailAlreadyExistsException(user.getEmail());
         }
@@ -42,18 +58,22 @@ public class UserServiceImpl implements UserService {
         }
         User user = optionalUser.get();
         if (patchUser.getEmail() != null) {
-            Optional<User> userWithSameEmail  = userRepository.findByEmail(patchUser.getEmail());
-            if (userWithSameEmail.isPresent() && !userWithSameEmail.get().getId().equals(id)) {
-                throw new EmailAlreadyExistsException(patchUser.getEmail());
-            }
-        }
-        if (patchUser.getEmail() != null) {
+            checkEmailIsFree(patchUser.getEmail(), id);
             user.setEmail(patchUser.getEmail());
         }
         if (patchUser.getName() != null) {
             user.setName(patchUser.getName());
         }
-        User updatedUser = userRepository.save(user);
+        User updatedUser;
+        try {
+            updatedUser = userRepository.save(user);
+            userRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new EmailAlreadyExistsException(patchUser.getEmail());
+        }
+        resourceVersions.touch(ResourceVersions.USERS);
+        userExistenceCache.invalidate(id);
+        userEmailIndex.put(id, updatedUser.getEmail());
         return UserMapper.toDto(updatedUser);
     }
 
@@ -90,6 +110,26 @@ public class UserServiceImpl implements UserService {
             throw new UserNotFoundException(id);
         }
         userRepository.deleteById(id);
+        resourceVersions.touch(ResourceVersions.USERS);
+        itemSearchIndex.removeByOwner(id);
+        userExistenceCache.invalidate(id);
+        userEmailIndex.remove(id);
+    }
+
+    /**
+     * Confirms a conflict found in the email index with the database and drops index entries that
+     * turn out to be stale. Emails the index does not know are left to the unique constraint.
+     */
+    private void checkEmailIsFree(String email, Long userId) {
+        Optional<Long> ownerId = userEmailIndex.findId(email);
+        if (ownerId.isEmpty() || ownerId.get().equals(userId)) {
+            return;
+        }
+        Optional<User> owner = userRepository.findByEmail(email);
+        if (owner.isPresent() && !owner.get().getId().equals(userId)) {
+            throw new EmailAlreadyExistsException(email);
+        }
+        userEmailIndex.remove(ownerId.get());
     }
 
 }
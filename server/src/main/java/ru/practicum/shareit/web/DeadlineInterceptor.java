@@ -0,0 +1,40 @@
+package ru.practicum.shareit.web;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.web.exception.DeadlineExceededException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects a request whose caller has already given up on it, before any database work is done.
+ * The rejection is marked with {@link #DEADLINE_EXCEEDED_HEADER}, so the gateway can tell it from a
+ * server failure. The gateway sends the deadline as epoch milliseconds, so the two hosts are expected to keep
+ * their clocks in sync.
+ */
+@Component
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+    public static final String DEADLINE_EXCEEDED_HEADER = "X-Deadline-Exceeded";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(DEADLINE_HEADER);
+        if (header == null) {
+            return true;
+        }
+        long deadline;
+        try {
+            deadline = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+        if (System.currentTimeMillis() >= deadline) {
+            throw new DeadlineExceededException(deadline);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import static ru.practicum.shareit.web.ResourceVersions.ITEMS;
+import static ru.practicum.shareit.web.ResourceVersions.REQUESTS;
+import static ru.practicum.shareit.web.ResourceVersions.USERS;
+
+/**
+ * ETags for the read endpoints, answering a matching {@code If-None-Match} with 304. Users and requests
+ * are tagged from {@link ResourceVersions} before any data is read. Item views also show bookings and
+ * depend on the current time, so they keep strong ETags hashed from the response body, which only saves
+ * the body transfer.
+ */
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class EtagConfig implements WebMvcConfigurer {
+
+    private final ResourceVersions resourceVersions;
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/items/*");
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new VersionEtagInterceptor(resourceVersions, USERS))
+                .addPathPatterns("/users", "/users/**");
+        registry.addInterceptor(new VersionEtagInterceptor(resourceVersions, USERS, ITEMS, REQUESTS))
+                .addPathPatterns("/requests", "/requests/**");
+    }
+}
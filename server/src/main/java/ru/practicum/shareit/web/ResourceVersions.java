@@ -0,0 +1,44 @@
+package ru.practicum.shareit.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Change counters of the resources whose responses depend on stored data only. Every write bumps the
+ * counter of what it changes in its own transaction, so a counter never runs ahead of the data it
+ * describes, and {@link VersionEtagInterceptor} answers revalidations from them with one small query.
+ * A bump holds the counter row until commit, which orders writes to the same resource; users, items
+ * and requests are written rarely next to how often they are read.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ResourceVersions {
+
+    public static final String USERS = "users";
+
+    public static final String ITEMS = "items";
+
+    public static final String REQUESTS = "requests";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void touch(String name) {
+        jdbcTemplate.update("UPDATE resource_versions SET version = version + 1 WHERE name = :name",
+                Map.of("name", name));
+    }
+
+    /**
+     * Returns a value that grows whenever one of the named counters does.
+     */
+    public long current(Collection<String> names) {
+        Long sum = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(version), 0) FROM resource_versions WHERE name IN (:names)",
+                Map.of("names", names), Long.class);
+        return sum == null ? 0 : sum;
+    }
+}
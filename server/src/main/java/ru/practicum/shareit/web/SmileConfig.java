@@ -0,0 +1,42 @@
+package ru.practicum.shareit.web;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Lets the gateway ask for binary Smile with {@code Accept: application/x-jackson-smile}. Spring MVC
+ * registers the Smile converter after the JSON one, so JSON stays the answer to any other or missing
+ * {@code Accept}; here it gets the same Jackson settings as JSON, so both carry the same document.
+ * Repeated short strings (item names, statuses, the same booker on every row) are written once and then
+ * referenced.
+ */
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SmileConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.stream()
+                .filter(MappingJackson2SmileHttpMessageConverter.class::isInstance)
+                .map(MappingJackson2SmileHttpMessageConverter.class::cast)
+                .forEach(converter -> converter.setObjectMapper(
+                        objectMapperBuilder.factory(smileFactory()).build()));
+    }
+
+    private static SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+}
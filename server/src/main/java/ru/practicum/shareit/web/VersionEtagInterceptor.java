@@ -0,0 +1,34 @@
+package ru.practicum.shareit.web;
+
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+/**
+ * Tags GET responses with the {@link ResourceVersions} they are built from and answers a matching
+ * {@code If-None-Match} with 304 before the controller runs, so a revalidation skips the read itself.
+ * The tag is weak because JSON and Smile responses of the same data share it.
+ */
+public class VersionEtagInterceptor implements HandlerInterceptor {
+
+    private final ResourceVersions resourceVersions;
+
+    private final List<String> resources;
+
+    public VersionEtagInterceptor(ResourceVersions resourceVersions, String... resources) {
+        this.resourceVersions = resourceVersions;
+        this.resources = List.of(resources);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String etag = "W/\"" + resourceVersions.current(resources) + "\"";
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.web.exception;
+
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(long deadline) {
+        super(String.format("Request deadline %s has already passed.", deadline));
+    }
+}
@@ -1,5 +1,3 @@
-  DROP TABLE IF EXISTS users, items, bookings, comments, requests;
-
   CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255) NOT NULL,
@@ -0,0 +1,4 @@
+  -- Optimistic lock column of bookings. Kept out of V1 so that databases created from the original
+  -- schema.sql, which Flyway baselines at version 1, get it too.
+
+  ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+  -- Change counters behind the ETags of user and request responses, see ResourceVersions.
+
+  CREATE TABLE IF NOT EXISTS resource_versions (
+    name VARCHAR(32) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT PK_RESOURCE_VERSION PRIMARY KEY (name)
+  );
+
+  INSERT INTO resource_versions (name, version) VALUES ('users', 0), ('items', 0), ('requests', 0);
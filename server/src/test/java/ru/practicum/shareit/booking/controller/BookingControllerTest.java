@@ -17,6 +17,7 @@ import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.model.dto.BookingApproveDto;
 import ru.practicum.shareit.booking.model.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
+import ru.practicum.shareit.booking.model.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.error.ErrorController;
 import ru.practicum.shareit.item.model.Item;
@@ -219,4 +220,30 @@ public class BookingControllerTest {
 
         verify(bookingService, times(1)).getBookingsItemsByUserId(ownerId, state, from, size);
     }
+
+    @Test
+    public void testGetBookingsByBookerId_Cursor_SetsNextCursorHeader() throws Exception {
+        long bookerId = 1L;
+        State state = State.ALL;
+        int size = 1;
+
+        when(bookingService.getBookingsByBookerId(bookerId, state, "", size))
+                .thenReturn(BookingSliceDto.builder()
+                        .content(List.of(BookingSendingDto.builder()
+                                .id(1L)
+                                .build()))
+                        .nextCursor("next")
+                        .build());
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", String.valueOf(bookerId))
+                        .param("state", state.toString())
+                        .param("size", String.valueOf(size))
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$[0].id").value(1L));
+
+        verify(bookingService, never()).getBookingsByBookerId(eq(bookerId), eq(state), anyInt(), anyInt());
+    }
 }
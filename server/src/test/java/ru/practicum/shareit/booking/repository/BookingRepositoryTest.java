@@ -3,15 +3,39 @@ package ru.practicum.shareit.booking.repository;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingQuery;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.model.dto.BookingItemView;
+import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
+import ru.practicum.shareit.booking.tool.BookingMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class BookingRepositoryTest {
 
@@ -24,6 +48,9 @@ public class BookingRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private User user1;
     private User user2;
 
@@ -68,9 +95,235 @@ public class BookingRepositoryTest {
 
     @AfterEach
     public void clear() {
-        userRepository.deleteAll();
-        itemRepository.deleteAll();
         bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void findBookingDtos_ShouldWalkSlicesWithoutGapsOrDuplicates() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        LocalDateTime sharedStart = now.minusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bookings.add(bookingRepository.save(Booking.builder()
+                    .start(i < 2 ? sharedStart : now.plusDays(i))
+                    .end(now.plusDays(10 + i))
+                    .item(item2)
+                    .booker(user1)
+                    .status(Status.WAITING)
+                    .build()));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        BookingCursor cursor = null;
+        List<BookingSendingDto> slice;
+        do {
+            slice = bookingRepository.findBookingDtos(BookingQuery.builder()
+                    .role(BookingQuery.Role.BOOKER)
+                    .userId(user1.getId())
+                    .state(State.ALL)
+                    .now(now)
+                    .cursor(cursor)
+                    .limit(2)
+                    .build());
+            slice.forEach(booking -> seen.add(booking.getId()));
+            cursor = slice.isEmpty() ? null : BookingCursor.of(slice.get(slice.size() - 1));
+        } while (slice.size() == 2);
+
+        List<Long> expected = bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId).reversed())
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    public void findBookingDtos_ShouldApplyOwnerAndStateFilter() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Booking past = bookingRepository.save(Booking.builder()
+                .start(now.minusDays(3))
+                .end(now.minusDays(2))
+                .item(item1)
+                .booker(user2)
+                .status(Status.APPROVED)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .item(item1)
+                .booker(user2)
+                .status(Status.APPROVED)
+                .build());
+
+        List<BookingSendingDto> result = bookingRepository.findBookingDtos(BookingQuery.builder()
+                .role(BookingQuery.Role.OWNER)
+                .userId(user1.getId())
+                .state(State.PAST)
+                .now(now)
+                .limit(10)
+                .build());
+
+        assertEquals(List.of(past.getId()), result.stream().map(BookingSendingDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void findBookingDtos_ShouldUseOffsetAndCarryItemAndBooker() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bookings.add(bookingRepository.save(Booking.builder()
+                    .start(now.minusDays(i + 1))
+                    .end(now.plusDays(1))
+                    .item(item1)
+                    .booker(user2)
+                    .status(Status.APPROVED)
+                    .build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingSendingDto> result = bookingRepository.findBookingDtos(BookingQuery.builder()
+                .role(BookingQuery.Role.BOOKER)
+                .userId(user2.getId())
+                .state(State.CURRENT)
+                .now(now)
+                .offset(1)
+                .limit(1)
+                .build());
+
+        assertEquals(1, result.size());
+        assertEquals(bookings.get(1).getId(), result.get(0).getId());
+        assertEquals(item1.getName(), result.get(0).getItem().getName());
+        assertEquals(user2.getEmail(), result.get(0).getBooker().getEmail());
+    }
+
+    @Test
+    public void bookingListQueries_ShouldIssueOneStatementPerPageRegardlessOfSize() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 10; i++) {
+            bookingRepository.save(Booking.builder()
+                    .start(now.minusDays(i + 1))
+                    .end(now.plusDays(1))
+                    .item(i % 2 == 0 ? item1 : item2)
+                    .booker(i % 2 == 0 ? user2 : user1)
+                    .status(Status.APPROVED)
+                    .build());
+        }
+        for (int size : List.of(2, 10)) {
+            BookingQuery query = BookingQuery.builder()
+                    .role(BookingQuery.Role.OWNER)
+                    .userId(user1.getId())
+                    .state(State.ALL)
+                    .now(now)
+                    .limit(size)
+                    .build();
+
+            assertEquals(1, countStatements(() -> bookingRepository.findBookingDtos(query)));
+        }
     }
-}
 
+    @Test
+    public void findBookingDtos_ShouldMatchMappedEntities() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Booking booking = bookingRepository.save(Booking.builder()
+                .start(now.minusDays(1))
+                .end(now.plusDays(1))
+                .item(item1)
+                .booker(user2)
+                .status(Status.WAITING)
+                .build());
+        BookingQuery query = BookingQuery.builder()
+                .role(BookingQuery.Role.BOOKER)
+                .userId(user2.getId())
+                .state(State.WAITING)
+                .now(now)
+                .limit(10)
+                .build();
+
+        assertEquals(List.of(BookingMapper.toSendingDto(bookingRepository.findById(booking.getId()).orElseThrow())),
+                bookingRepository.findBookingDtos(query));
+    }
+
+    @Test
+    public void findById_ShouldLoadItemAndBookerInOneStatement() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Booking booking = bookingRepository.save(Booking.builder()
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .item(item1)
+                .booker(user2)
+                .status(Status.WAITING)
+                .build());
+
+        assertEquals(1, countStatements(() ->
+                BookingMapper.toSendingDto(bookingRepository.findById(booking.getId()).orElseThrow())));
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    public void findLastAndNextForItems_ShouldReturnLastAndNextApprovedBookingPerItem() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        bookingRepository.save(booking(item1, now.minusDays(5), Status.APPROVED));
+        Booking last = bookingRepository.save(booking(item1, now.minusDays(2), Status.APPROVED));
+        bookingRepository.save(booking(item1, now.minusDays(1), Status.REJECTED));
+        Booking next = bookingRepository.save(booking(item1, now.plusDays(1), Status.APPROVED));
+        bookingRepository.save(booking(item1, now.plusDays(3), Status.APPROVED));
+        bookingRepository.save(booking(item1, now.plusDays(4), Status.WAITING));
+        Booking onlyNext = bookingRepository.save(booking(item2, now.plusDays(2), Status.APPROVED));
+
+        Map<Long, String> result = bookingRepository.findLastAndNextForItems(
+                        List.of(item1.getId(), item2.getId()), now)
+                .stream()
+                .collect(Collectors.toMap(BookingItemView::getId, view -> view.getItemId() + view.getKind()));
+
+        assertEquals(Map.of(
+                last.getId(), item1.getId() + "LAST",
+                next.getId(), item1.getId() + "NEXT",
+                onlyNext.getId(), item2.getId() + "NEXT"), result);
+    }
+
+    @Test
+    public void findLastAndNextForItems_ShouldCarryBookerAndStart() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Booking upcoming = bookingRepository.save(booking(item1, now.plusDays(1), Status.APPROVED));
+
+        List<BookingItemView> result = bookingRepository.findLastAndNextForItems(List.of(item1.getId()), now);
+
+        assertEquals(1, result.size());
+        assertEquals(upcoming.getId(), result.get(0).getId());
+        assertEquals(user2.getId(), result.get(0).getBookerId());
+        assertEquals(upcoming.getStart(), result.get(0).getStart());
+    }
+
+    @Test
+    public void existsApprovedOverlap_ShouldOnlyMatchApprovedIntersectingPeriods() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        bookingRepository.save(booking(item1, start, Status.APPROVED));
+        bookingRepository.save(booking(item1, start.plusDays(1), Status.WAITING));
+
+        assertTrue(bookingRepository.existsApprovedOverlap(item1.getId(), start.plusHours(6), start.plusDays(2)));
+        assertFalse(bookingRepository.existsApprovedOverlap(item1.getId(), start.plusHours(12), start.plusDays(2)));
+        assertFalse(bookingRepository.existsApprovedOverlap(item2.getId(), start, start.plusHours(12)));
+    }
+
+    private Booking booking(Item item, LocalDateTime start, Status status) {
+        return Booking.builder()
+                .start(start)
+                .end(start.plusHours(12))
+                .item(item)
+                .booker(user2)
+                .status(status)
+                .build();
+    }
+}
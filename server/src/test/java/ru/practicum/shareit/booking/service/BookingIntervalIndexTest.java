@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.model.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BookingIntervalIndexTest {
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new BookingIntervalIndex(mock(BookingRepository.class));
+        index.add(booking(1L, 1L, start, start.plusDays(2)));
+        index.add(booking(2L, 1L, start.plusDays(4), start.plusDays(5)));
+    }
+
+    @Test
+    public void testOverlaps_WhenPeriodIntersectsApprovedBooking() {
+        assertTrue(index.overlaps(1L, start.plusDays(1), start.plusDays(3)));
+        assertTrue(index.overlaps(1L, start.minusDays(1), start.plusHours(1)));
+        assertTrue(index.overlaps(1L, start.plusDays(3), start.plusDays(6)));
+    }
+
+    @Test
+    public void testOverlaps_WhenPeriodFitsBetweenApprovedBookings() {
+        assertFalse(index.overlaps(1L, start.plusDays(2), start.plusDays(4)));
+        assertFalse(index.overlaps(1L, start.minusDays(1), start));
+        assertFalse(index.overlaps(1L, start.plusDays(5), start.plusDays(6)));
+    }
+
+    @Test
+    public void testOverlaps_WhenItemHasNoApprovedBookings() {
+        assertFalse(index.overlaps(2L, start, start.plusDays(10)));
+    }
+
+    @Test
+    public void testRemove_ReleasesPeriod() {
+        index.remove(1L);
+
+        assertFalse(index.overlaps(1L, start, start.plusDays(2)));
+        assertTrue(index.overlaps(1L, start.plusDays(4), start.plusDays(5)));
+    }
+
+    @Test
+    public void testOverlaps_WhenLegacyApprovedBookingsOverlapEachOther() {
+        index.add(booking(3L, 3L, start, start.plusDays(10)));
+        index.add(booking(4L, 3L, start.plusDays(1), start.plusDays(2)));
+
+        assertTrue(index.overlaps(3L, start.plusDays(5), start.plusDays(6)));
+        assertFalse(index.overlaps(3L, start.plusDays(10), start.plusDays(11)));
+    }
+
+    @Test
+    public void testOverlaps_WhenLongerLegacyBookingIsAddedSecond() {
+        index.add(booking(3L, 3L, start.plusDays(1), start.plusDays(2)));
+        index.add(booking(4L, 3L, start, start.plusDays(10)));
+
+        assertTrue(index.overlaps(3L, start.plusDays(5), start.plusDays(6)));
+        assertFalse(index.overlaps(3L, start.plusDays(10), start.plusDays(11)));
+    }
+
+    @Test
+    public void testOverlaps_EvictsFinishedPeriods() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingRepository repository = mock(BookingRepository.class);
+        BookingIntervalView finished = mock(BookingIntervalView.class);
+        when(finished.getId()).thenReturn(5L);
+        when(finished.getItemId()).thenReturn(5L);
+        when(finished.getStart()).thenReturn(now.minusDays(3));
+        when(finished.getEnd()).thenReturn(now.minusDays(1));
+        when(repository.findIntervalsByStatusAndEndIsAfter(eq(Status.APPROVED), any())).thenReturn(List.of(finished));
+        index = new BookingIntervalIndex(repository);
+        index.warmUp();
+
+        assertFalse(index.overlaps(5L, now.minusDays(2), now.minusDays(1)));
+    }
+
+    private Booking booking(Long id, Long itemId, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(itemId).build())
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BookingLockManagerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BookingLockManager lockManager;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new BookingLockManager(64, false, meterRegistry);
+    }
+
+    @AfterEach
+    public void clear() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testLockForTransaction_WithoutTransaction() {
+        assertThrows(IllegalStateException.class, () -> lockManager.lockForTransaction(1L));
+    }
+
+    @Test
+    public void testLockForTransaction_SameItemWaitsForCompletion() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        lockManager.lockForTransaction(1L);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            started.countDown();
+            lockManager.lockForTransaction(1L);
+            complete();
+        });
+        started.await();
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertFalse(second.isDone());
+
+        complete();
+        second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2.0, meterRegistry.counter("shareit.booking.lock.acquisitions").count());
+        assertEquals(1.0, meterRegistry.counter("shareit.booking.lock.contentions").count());
+    }
+
+    @Test
+    public void testLockForTransaction_DifferentItemsDoNotWait() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        lockManager.lockForTransaction(1L);
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            lockManager.lockForTransaction(2L);
+            complete();
+        });
+
+        second.get(5, TimeUnit.SECONDS);
+        assertTrue(second.isDone());
+        assertEquals(0.0, meterRegistry.counter("shareit.booking.lock.contentions").count());
+        complete();
+    }
+
+    private static void complete() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -10,14 +10,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.exception.BookingNotFoundException;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
 import ru.practicum.shareit.booking.exception.BookingStatusException;
 import ru.practicum.shareit.booking.exception.BookingTimeException;
 import ru.practicum.shareit.booking.exception.OwnerNotFoundException;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingQuery;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.model.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
+import ru.practicum.shareit.booking.model.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.tool.BookingMapper;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -26,6 +31,7 @@ import ru.practicum.shareit.request.exception.PaginationParamException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 import org.mockito.InjectMocks;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,12 +53,24 @@ public class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @Mock
     private ItemRepository itemRepository;
 
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private BookingLockManager bookingLockManager;
+
+    @Mock
+    private ItemBookingsReadModel itemBookingsReadModel;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -154,6 +172,33 @@ public class BookingServiceImplTest {
     }
 
 
+    @Test
+    void create_ShouldThrowBookingOverlapException_WhenItemIsAlreadyBooked() {
+        BookingCreationDto bookingCreationDto = BookingCreationDto.builder()
+                .start(LocalDateTime.of(2022, 1, 1, 12, 0))
+                .end(LocalDateTime.of(2022, 1, 1, 13, 0))
+                .itemId(1L)
+                .build();
+
+        User owner = User.builder()
+                .id(1L)
+                .build();
+
+        Item item = Item.builder()
+                .id(1L)
+                .available(true)
+                .owner(owner)
+                .build();
+
+        when(userRepository.findById(2L)).thenReturn(Optional.of(User.builder().id(2L).build()));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(bookingIntervalIndex.overlaps(1L, bookingCreationDto.getStart(), bookingCreationDto.getEnd()))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.create(bookingCreationDto, 2L));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     void approve_ShouldThrowBookingNotFoundException_WhenBookingIdIsInvalid() {
         Long bookingId = 1L;
@@ -233,6 +278,38 @@ public class BookingServiceImplTest {
         Booking result = bookingService.approve(bookingId, isApproved, ownerId);
 
         assertEquals(Status.APPROVED, result.getStatus());
+        verify(bookingIntervalIndex, times(1)).add(booking);
+        verify(itemBookingsReadModel, times(1)).add(booking);
+    }
+
+    @Test
+    void approve_ShouldThrowBookingOverlapException_WhenPeriodIsAlreadyApproved() {
+        Long bookingId = 1L;
+        Long ownerId = 2L;
+
+        User owner = User.builder()
+                .id(ownerId)
+                .build();
+
+        Item item = Item.builder()
+                .id(1L)
+                .available(true)
+                .owner(owner)
+                .build();
+
+        Booking booking = new Booking();
+        booking.setId(bookingId);
+        booking.setItem(item);
+        booking.setStart(LocalDateTime.of(2022, 1, 1, 12, 0));
+        booking.setEnd(LocalDateTime.of(2022, 1, 1, 13, 0));
+        booking.setStatus(Status.WAITING);
+
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsApprovedOverlap(1L, booking.getStart(), booking.getEnd())).thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.approve(bookingId, true, ownerId));
+        verify(itemRepository).findByIdForUpdate(1L);
+        verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
@@ -271,7 +348,7 @@ public class BookingServiceImplTest {
         int from = 0;
         int size = 10;
 
-        when(userRepository.existsById(bookerId)).thenReturn(false);
+        when(userExistenceCache.exists(bookerId)).thenReturn(false);
 
         assertThrows(UserNotFoundException.class, () -> bookingService.getBookingsByBookerId(bookerId, state, from, size));
     }
@@ -301,8 +378,10 @@ public class BookingServiceImplTest {
 
         Page<Booking> page = new PageImpl<>(bookingList, PageRequest.of(from, size), size - from);
 
-        when(userRepository.existsById(bookerId)).thenReturn(true);
-        when(bookingRepository.findByBookerId(eq(bookerId), any(PageRequest.class))).thenReturn(page);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.BOOKER
+                && query.getState() == state)))
+                .thenReturn(BookingMapper.toSendingDto(page.getContent()));
 
         List<BookingSendingDto> result = bookingService.getBookingsByBookerId(bookerId, state, from, size);
 
@@ -344,10 +423,10 @@ public class BookingServiceImplTest {
 
         Page<Booking> page = new PageImpl<>(bookingList, PageRequest.of(from, size), size - from);
 
-        when(userRepository.existsById(bookerId)).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStatus(
-                eq(bookerId), eq(Status.WAITING), any(PageRequest.class)))
-                .thenReturn(page);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.BOOKER
+                && query.getState() == state)))
+                .thenReturn(BookingMapper.toSendingDto(page.getContent()));
 
         List<BookingSendingDto> result = bookingService.getBookingsByBookerId(bookerId, state, from, size);
 
@@ -389,10 +468,10 @@ public class BookingServiceImplTest {
 
         List<Booking> bookingList = List.of(booking1, booking2);
 
-        when(userRepository.existsById(bookerId)).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndEndIsBefore(
-                eq(bookerId), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(bookingList));
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.BOOKER
+                && query.getState() == state)))
+                .thenReturn(BookingMapper.toSendingDto(bookingList));
 
         List<BookingSendingDto> result = bookingService.getBookingsByBookerId(bookerId, state, from, size);
 
@@ -434,10 +513,10 @@ public class BookingServiceImplTest {
 
         List<Booking> bookingList = List.of(booking1, booking2);
 
-        when(userRepository.existsById(bookerId)).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStartIsAfter(
-                eq(bookerId), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(bookingList));
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.BOOKER
+                && query.getState() == state)))
+                .thenReturn(BookingMapper.toSendingDto(bookingList));
 
         List<BookingSendingDto> result = bookingService.getBookingsByBookerId(bookerId, state, from, size);
 
@@ -481,11 +560,11 @@ public class BookingServiceImplTest {
 
         List<Booking> bookingList = List.of(booking1, booking2);
         Page<Booking> bookings = new PageImpl<>(bookingList);
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
 
-        when(bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(
-                eq(bookerId), any(LocalDateTime.class), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.BOOKER
+                && query.getState() == state)))
+                .thenReturn(BookingMapper.toSendingDto(bookings.getContent()));
 
         List<BookingSendingDto> result = bookingService.getBookingsByBookerId(bookerId, state, from, size);
 
@@ -525,12 +604,12 @@ public class BookingServiceImplTest {
 
         List<Booking> bookingList = List.of(booking1, booking2);
 
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
 
         PageImpl<Booking> page = new PageImpl<>(bookingList);
-        when(bookingRepository.findByBookerIdAndStatus(
-                eq(bookerId), eq(Status.REJECTED), any(PageRequest.class)))
-                .thenReturn(page);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.BOOKER
+                && query.getState() == state)))
+                .thenReturn(BookingMapper.toSendingDto(page.getContent()));
 
         List<BookingSendingDto> result = bookingService.getBookingsByBookerId(bookerId, state, from, size);
 
@@ -547,7 +626,7 @@ public class BookingServiceImplTest {
         int from = 0;
         int size = 10;
 
-        when(userRepository.existsById(bookerId)).thenReturn(false);
+        when(userExistenceCache.exists(bookerId)).thenReturn(false);
 
         assertThrows(UserNotFoundException.class,
                 () -> bookingService.getBookingsByBookerId(bookerId, state, from, size));
@@ -560,11 +639,77 @@ public class BookingServiceImplTest {
         int from = -1;
         int size = 0;
 
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
 
         assertThrows(PaginationParamException.class, () -> bookingService.getBookingsByBookerId(bookerId, state, from, size));
     }
 
+    @Test
+    public void testGetBookingsByBookerId_Cursor_ReturnsNextCursorWhenMoreRowsExist() {
+        Long bookerId = 1L;
+        int size = 2;
+
+        User booker = new User();
+        booker.setId(bookerId);
+        Item item = Item.builder()
+                .id(1L)
+                .available(true)
+                .owner(booker)
+                .build();
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        for (Booking booking : List.of(booking1, booking2, booking3)) {
+            booking.setBooker(booker);
+            booking.setItem(item);
+            booking.setStart(start.minusDays(booking.getId()));
+            booking.setEnd(start);
+        }
+
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.BOOKER
+                && query.getCursor() == null && query.getLimit() == size + 1))).thenReturn(BookingMapper.toSendingDto(List.of(booking1, booking2, booking3)));
+
+        BookingSliceDto result = bookingService.getBookingsByBookerId(bookerId, State.ALL, "", size);
+
+        assertEquals(2, result.getContent().size());
+        BookingCursor next = BookingCursor.decode(result.getNextCursor());
+        assertEquals(booking2.getId(), next.getId());
+        assertEquals(booking2.getStart(), next.getStart());
+    }
+
+    @Test
+    public void testGetBookingsItemsByUserId_Cursor_LastSliceHasNoNextCursor() {
+        Long ownerId = 1L;
+        int size = 2;
+        String cursor = new BookingCursor(LocalDateTime.now(), 5L).encode();
+
+        User owner = new User();
+        owner.setId(ownerId);
+        Item item = Item.builder()
+                .id(1L)
+                .available(true)
+                .owner(owner)
+                .build();
+        booking1.setBooker(owner);
+        booking1.setItem(item);
+
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.OWNER
+                && query.getCursor() != null && query.getLimit() == size + 1))).thenReturn(BookingMapper.toSendingDto(List.of(booking1)));
+
+        BookingSliceDto result = bookingService.getBookingsItemsByUserId(ownerId, State.ALL, cursor, size);
+
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void testGetBookingsByBookerId_Cursor_InvalidCursor() {
+        when(userExistenceCache.exists(1L)).thenReturn(true);
+
+        assertThrows(PaginationParamException.class,
+                () -> bookingService.getBookingsByBookerId(1L, State.ALL, "not-a-cursor", 10));
+    }
+
     @Test
     public void testGetBookingsItemsByUserId_All() {
         Long ownerId = 1L;
@@ -600,10 +745,11 @@ public class BookingServiceImplTest {
         List<Booking> bookingList = List.of(booking1, booking2);
         Page<Booking> bookings = new PageImpl<>(bookingList);
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerId(eq(ownerId), any(PageRequest.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.OWNER
+                && query.getState() == state)))
+                .thenReturn(BookingMapper.toSendingDto(bookings.getContent()));
 
         List<BookingSendingDto> result = bookingService.getBookingsItemsByUserId(ownerId, state, from, size);
 
@@ -650,10 +796,11 @@ public class BookingServiceImplTest {
         List<Booking> bookingList = List.of(booking1, booking2);
         Page<Booking> bookings = new PageImpl<>(bookingList);
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerIdAndEndIsBefore(eq(ownerId), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.OWNER
+                && query.getState() == state)))
+                .thenReturn(BookingMapper.toSendingDto(bookings.getContent()));
 
         List<BookingSendingDto> result = bookingService.getBookingsItemsByUserId(ownerId, state, from, size);
 
@@ -700,11 +847,11 @@ public class BookingServiceImplTest {
         List<Booking> bookingList = List.of(booking1, booking2);
         Page<Booking> bookings = new PageImpl<>(bookingList);
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerIdAndStartIsAfter(
-                eq(ownerId), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.OWNER
+                && query.getState() == state)))
+                .thenReturn(BookingMapper.toSendingDto(bookings.getContent()));
 
         List<BookingSendingDto> result = bookingService.getBookingsItemsByUserId(ownerId, state, from, size);
 
@@ -755,11 +902,11 @@ public class BookingServiceImplTest {
         List<Booking> bookingList = List.of(booking1, booking2);
         Page<Booking> bookings = new PageImpl<>(bookingList);
 
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-                eq(ownerId), any(LocalDateTime.class), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookingDtos(argThat(query -> query.getRole() == BookingQuery.Role.OWNER
+                && query.getState() == state)))
+                .thenReturn(BookingMapper.toSendingDto(bookings.getContent()));
 
         List<BookingSendingDto> result = bookingService.getBookingsItemsByUserId(ownerId, state, from, size);
 
@@ -868,16 +1015,18 @@ public class BookingServiceImplTest {
     @Test
     public void testRemoveBooking_Exists() {
         Long bookingId = 1L;
-        when(bookingRepository.existsById(bookingId)).thenReturn(true);
+        Booking booking = Booking.builder().id(bookingId).item(Item.builder().id(2L).build()).build();
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         bookingService.removeById(bookingId);
-        assertThrows(BookingNotFoundException.class, () -> bookingService.getById(bookingId));
+        verify(bookingRepository, times(1)).delete(booking);
+        verify(itemBookingsReadModel, times(1)).remove(booking);
     }
 
     @Test
     public void testRemoveBooking_NotFound() {
         Long nonExistentBookingId = 2L;
-        when(bookingRepository.existsById(nonExistentBookingId)).thenReturn(false);
+        when(bookingRepository.findById(nonExistentBookingId)).thenReturn(Optional.empty());
 
         assertThrows(BookingNotFoundException.class, () -> bookingService.removeById(nonExistentBookingId));
     }
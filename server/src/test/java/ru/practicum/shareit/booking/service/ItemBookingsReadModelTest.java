@@ -0,0 +1,230 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.dto.BookingItemView;
+import ru.practicum.shareit.booking.model.dto.LastNextBookingDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ItemBookingsReadModelTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private BookingRepository bookingRepository;
+
+    private ItemBookingsReadModel readModel;
+
+    @BeforeEach
+    public void setup() {
+        bookingRepository = mock(BookingRepository.class);
+        stubBookings(List.of(
+                view(1L, 10L, "LAST", now.minusDays(1)),
+                view(1L, 11L, "NEXT", now.plusDays(2))));
+        readModel = new ItemBookingsReadModel(bookingRepository, 100);
+    }
+
+    @Test
+    public void testGet_LoadsItemOnceAndServesFromMemory() {
+        LastNextBookingDto first = readModel.get(1L);
+        LastNextBookingDto second = readModel.get(1L);
+
+        assertEquals(10L, first.getLastBooking().getId());
+        assertEquals(11L, first.getNextBooking().getId());
+        assertEquals(first, second);
+        verify(bookingRepository, times(1)).findLastAndNextForItems(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testAdd_ApprovedBookingBecomesNextWhenEarlier() {
+        readModel.get(1L);
+
+        readModel.add(booking(1L, 13L, now.plusDays(1)));
+
+        assertEquals(13L, readModel.get(1L).getNextBooking().getId());
+    }
+
+    @Test
+    public void testAdd_BookingAfterNextIsLeftToDatabase() {
+        readModel.get(1L);
+
+        readModel.add(booking(1L, 13L, now.plusDays(3)));
+
+        assertEquals(11L, readModel.get(1L).getNextBooking().getId());
+        verify(bookingRepository, times(1)).findLastAndNextForItems(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testAdvance_StartedNextBookingReloadsItem() {
+        readModel.get(1L);
+        readModel.add(booking(1L, 13L, LocalDateTime.now().plusNanos(20_000_000)));
+        sleep(30);
+        stubBookings(List.of(view(1L, 13L, "LAST", now), view(1L, 11L, "NEXT", now.plusDays(2))));
+
+        readModel.advance();
+
+        LastNextBookingDto bookings = readModel.get(1L);
+        assertEquals(13L, bookings.getLastBooking().getId());
+        assertEquals(11L, bookings.getNextBooking().getId());
+        verify(bookingRepository, times(2)).findLastAndNextForItems(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testGet_StartedNextBookingReloadsItemOnRead() {
+        readModel.get(1L);
+        readModel.add(booking(1L, 13L, LocalDateTime.now().plusNanos(20_000_000)));
+        sleep(30);
+        stubBookings(List.of(view(1L, 13L, "LAST", now), view(1L, 11L, "NEXT", now.plusDays(2))));
+
+        assertEquals(13L, readModel.get(1L).getLastBooking().getId());
+    }
+
+    @Test
+    public void testGet_ChangeToAnotherItemDuringLoadKeepsLoadedItem() {
+        changeDuringLoad(booking(2L, 20L, now.plusDays(1)));
+
+        readModel.get(1L);
+        readModel.get(1L);
+
+        verify(bookingRepository, times(1)).findLastAndNextForItems(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testGet_ChangeToSameItemDuringLoadDiscardsLoadedItem() {
+        changeDuringLoad(booking(1L, 13L, now.plusDays(1)));
+
+        readModel.get(1L);
+        readModel.get(1L);
+
+        verify(bookingRepository, times(2)).findLastAndNextForItems(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testRemove_ReloadsItem() {
+        readModel.get(1L);
+        stubBookings(List.of(view(1L, 10L, "LAST", now.minusDays(1)), view(1L, 12L, "NEXT", now.plusDays(4))));
+
+        readModel.remove(booking(1L, 11L, now.plusDays(2)));
+
+        assertEquals(12L, readModel.get(1L).getNextBooking().getId());
+        verify(bookingRepository, times(2)).findLastAndNextForItems(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testGet_ItemWithoutBookings() {
+        LastNextBookingDto bookings = readModel.get(2L);
+
+        assertNull(bookings.getLastBooking());
+        assertNull(bookings.getNextBooking());
+    }
+
+    @Test
+    public void testGet_ItemsBeyondLimitAreEvictedAndReloaded() {
+        ItemBookingsReadModel small = new ItemBookingsReadModel(bookingRepository, 2);
+        small.get(1L);
+        small.get(2L);
+        small.get(3L);
+
+        assertEquals(10L, small.get(1L).getLastBooking().getId());
+        verify(bookingRepository, times(4)).findLastAndNextForItems(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testAdvance_EvictedItemLeavesNothingQueued() {
+        ItemBookingsReadModel small = new ItemBookingsReadModel(bookingRepository, 1);
+        stubBookings(List.of(view(1L, 11L, "NEXT", now.plusNanos(1_000_000))));
+        small.get(1L);
+        small.get(2L);
+        sleep(5);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), small::advance);
+    }
+
+    /**
+     * Makes the first load of item 1 see the given approval, the way a concurrent commit would.
+     */
+    private void changeDuringLoad(Booking approved) {
+        List<BookingItemView> views = List.of(view(1L, 10L, "LAST", now.minusDays(1)));
+        when(bookingRepository.findLastAndNextForItems(anyCollection(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    readModel.add(approved);
+                    return views;
+                })
+                .thenReturn(views);
+    }
+
+    private void stubBookings(List<BookingItemView> views) {
+        when(bookingRepository.findLastAndNextForItems(anyCollection(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    Collection<Long> itemIds = invocation.getArgument(0);
+                    return views.stream()
+                            .filter(view -> itemIds.contains(view.getItemId()))
+                            .collect(Collectors.toList());
+                });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Booking booking(Long itemId, Long id, LocalDateTime start) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(itemId).build())
+                .booker(User.builder().id(7L).build())
+                .start(start)
+                .end(start.plusDays(1))
+                .build();
+    }
+
+    private BookingItemView view(Long itemId, Long id, String kind, LocalDateTime start) {
+        return new BookingItemView() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return 7L;
+            }
+
+            @Override
+            public String getKind() {
+                return kind;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+        };
+    }
+}
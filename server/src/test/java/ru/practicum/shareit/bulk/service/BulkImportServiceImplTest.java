@@ -0,0 +1,162 @@
+package ru.practicum.shareit.bulk.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.bulk.model.dto.ImportErrorDto;
+import ru.practicum.shareit.bulk.model.dto.ImportResultDto;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.user.exception.UserNotFoundException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserEmailIndex;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "shareit.import.chunk-size=2")
+public class BulkImportServiceImplTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserEmailIndex userEmailIndex;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    private User booker;
+
+    @BeforeEach
+    public void setup() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@import.test").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@import.test").build());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        jdbcTemplate.update("delete from bookings where booker_id in (select id from users where email like '%@import.test')");
+        jdbcTemplate.update("delete from users where email like '%@import.test'");
+    }
+
+    @Test
+    public void testImportUsers_ReportsBadRowsAndStoresTheRest() {
+        ImportResultDto result = bulkImportService.importUsers(ndjson(
+                "{\"name\":\"a\",\"email\":\"a@import.test\"}",
+                "",
+                "{\"name\":\"b\",\"email\":\"b@import.test\"}",
+                "not json",
+                "{\"name\":\"c\",\"email\":\"a@import.test\"}",
+                "{\"name\":\"d\",\"email\":\"owner@import.test\"}",
+                "{\"name\":\"e\"}"));
+
+        assertEquals(6, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(4L, 5L, 6L, 7L), lines(result));
+        assertTrue(userRepository.findByEmail("b@import.test").isPresent());
+        assertTrue(userEmailIndex.findId("b@import.test").isPresent());
+    }
+
+    @Test
+    public void testImportUsers_ConstraintViolationOnlyLosesOffendingRow() {
+        jdbcTemplate.update("insert into users (id, name, email) values (1000000000, 'x', 'hidden@import.test')");
+
+        ImportResultDto result = bulkImportService.importUsers(ndjson(
+                "{\"name\":\"a\",\"email\":\"a@import.test\"}",
+                "{\"name\":\"h\",\"email\":\"hidden@import.test\"}",
+                "{\"name\":\"b\",\"email\":\"b@import.test\"}"));
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2L), lines(result));
+        assertTrue(userRepository.findByEmail("a@import.test").isPresent());
+    }
+
+    @Test
+    public void testImportItems_StoresItemsOfOwnerAndIndexesThem() {
+        ImportResultDto result = bulkImportService.importItems(ndjson(
+                "{\"name\":\"Importdrill\",\"description\":\"Cordless\",\"available\":true}",
+                "{\"description\":\"No name\",\"available\":true}",
+                "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":true,\"requestId\":999999}",
+                "{\"name\":\"Ladder\",\"description\":\"Tall\",\"available\":false}"), owner.getId());
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2L, 3L), lines(result));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select count(*) from items where owner_id = ?", Integer.class, owner.getId()));
+        itemSearchIndex.search("importdrill", 0, 10)
+                .ifPresent(items -> assertEquals(1, items.size()));
+    }
+
+    @Test
+    public void testImportItems_UnknownOwner() {
+        assertThrows(UserNotFoundException.class,
+                () -> bulkImportService.importItems(ndjson("{}"), 999999L));
+    }
+
+    @Test
+    public void testImportBookings_ChecksEachRowLikeCreate() {
+        bulkImportService.importItems(ndjson(
+                "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}",
+                "{\"name\":\"Ladder\",\"description\":\"Tall\",\"available\":false}"), owner.getId());
+        List<Long> items = jdbcTemplate.queryForList(
+                "select id from items where owner_id = ? order by id", Long.class, owner.getId());
+
+        ImportResultDto result = bulkImportService.importBookings(ndjson(
+                booking(items.get(0), "2040-01-01T10:00:00", "2040-01-02T10:00:00"),
+                booking(items.get(0), "2040-01-03T10:00:00", "2040-01-02T10:00:00"),
+                booking(items.get(1), "2040-01-01T10:00:00", "2040-01-02T10:00:00"),
+                booking(999999L, "2040-01-01T10:00:00", "2040-01-02T10:00:00"),
+                booking(items.get(0), "2040-02-01T10:00:00", "2040-02-02T10:00:00")), booker.getId());
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2L, 3L, 4L), lines(result));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select count(*) from bookings where booker_id = ? and status = 'WAITING'", Integer.class,
+                booker.getId()));
+    }
+
+    @Test
+    public void testImportBookings_OwnerCannotBookOwnItem() {
+        bulkImportService.importItems(ndjson(
+                "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}"), owner.getId());
+        Long itemId = jdbcTemplate.queryForObject(
+                "select id from items where owner_id = ?", Long.class, owner.getId());
+
+        ImportResultDto result = bulkImportService.importBookings(ndjson(
+                booking(itemId, "2040-01-01T10:00:00", "2040-01-02T10:00:00")), owner.getId());
+
+        assertEquals(0, result.getImported());
+        assertEquals(List.of(1L), lines(result));
+    }
+
+    private static String booking(Long itemId, String start, String end) {
+        return String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", itemId, start, end);
+    }
+
+    private static List<Long> lines(ImportResultDto result) {
+        return result.getErrors().stream().map(ImportErrorDto::getLine).collect(Collectors.toList());
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
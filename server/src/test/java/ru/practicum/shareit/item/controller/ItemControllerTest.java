@@ -152,19 +152,19 @@ class ItemControllerTest {
     void testGetItemsByOwnerId_Successfully() {
         long ownerId = 1L;
 
-        when(itemService.getByOwnerId(ownerId)).thenReturn(itemBookingsDtoList);
+        when(itemService.getByOwnerId(ownerId, 0, 10)).thenReturn(itemBookingsDtoList);
 
-        List<ItemBookingsDto> result = itemController.getItemsByOwnerId(ownerId);
+        List<ItemBookingsDto> result = itemController.getItemsByOwnerId(ownerId, 0, 10);
 
-        verify(itemService, times(1)).getByOwnerId(ownerId);
+        verify(itemService, times(1)).getByOwnerId(ownerId, 0, 10);
         assertEquals(itemBookingsDtoList, result);
     }
 
     @Test
     void testGetItemsByOwnerId_NotFound() {
         long ownerId = 1L;
-        when(itemService.getByOwnerId(ownerId)).thenThrow(new ItemNotFoundException(1L));
-        assertThrows(ItemNotFoundException.class, () -> itemController.getItemsByOwnerId(ownerId));
+        when(itemService.getByOwnerId(ownerId, 0, 10)).thenThrow(new ItemNotFoundException(1L));
+        assertThrows(ItemNotFoundException.class, () -> itemController.getItemsByOwnerId(ownerId, 0, 10));
     }
 
     @Test
@@ -185,7 +185,7 @@ class ItemControllerTest {
 
         List<ItemDto> mockItems = List.of(item1, item2);
 
-        when(itemService.search("Item")).thenReturn(mockItems);
+        when(itemService.search("Item", 0, 10)).thenReturn(mockItems);
 
         mockMvc.perform(get("/items/search")
                         .param("text", "Item"))
@@ -201,7 +201,7 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.[1].available", is(true)))
                 .andReturn();
 
-        verify(itemService, times(1)).search("Item");
+        verify(itemService, times(1)).search("Item", 0, 10);
     }
 
     @Test
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -76,13 +77,26 @@ public class ItemRepositoryTest {
 
         itemRepository.saveAll(Arrays.asList(testItem1, testItem2));
 
-        List<Item> foundItems = itemRepository.findAllByNameAndDescription("item");
+        List<Item> foundItems = itemRepository.findAllByNameAndDescription("item", PageRequest.of(0, 10));
 
         assertEquals(2, foundItems.size());
         assertEquals("Item 1", foundItems.get(0).getName());
         assertEquals("Item 2", foundItems.get(1).getName());
     }
 
+    @Test
+    public void testFindAllByNameAndDescription_RanksNameMatchesFirstAndPages() {
+        testItem1.setDescription("Fits the drill");
+        testItem2.setName("Drill");
+
+        itemRepository.saveAll(Arrays.asList(testItem1, testItem2));
+
+        List<Item> firstPage = itemRepository.findAllByNameAndDescription("DRILL", PageRequest.of(0, 1));
+        List<Item> secondPage = itemRepository.findAllByNameAndDescription("DRILL", PageRequest.of(1, 1));
+
+        assertEquals(List.of(testItem2.getId()), List.of(firstPage.get(0).getId()));
+        assertEquals(List.of(testItem1.getId()), List.of(secondPage.get(0).getId()));
+    }
 
     @Test
     public void testFindAllByOwnerId() {
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchIndexTest {
+
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    public void setup() {
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(
+                item(1L, 1L, "Дрель", "Простая дрель", true),
+                item(2L, 1L, "Отвертка", "Аккумуляторная отвертка", true),
+                item(3L, 2L, "Drill", "Cordless DRILL with battery", true)));
+        index = new ItemSearchIndex(itemRepository);
+    }
+
+    @Test
+    public void testSearch_FallsBackUntilRebuilt() {
+        assertTrue(index.search("drill", 0, 10).isEmpty());
+
+        index.rebuild();
+
+        assertEquals(List.of(3L), ids("drill"));
+    }
+
+    @Test
+    public void testSearch_MatchesSubstringOfNameOrDescriptionIgnoringCase() {
+        index.rebuild();
+
+        assertEquals(List.of(1L), ids("ДРЕЛ"));
+        assertEquals(List.of(2L), ids("аккум"));
+        assertEquals(List.of(3L), ids("ss dr"));
+        assertEquals(List.of(2L, 1L), ids("о"));
+        assertEquals(List.of(), ids("hammer"));
+    }
+
+    @Test
+    public void testSearch_RanksNameMatchesFirstAndReturnsRequestedWindow() {
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(
+                item(1L, 1L, "Battery pack", "Spare", true),
+                item(2L, 1L, "Drill", "Drill bits included", true),
+                item(3L, 1L, "Saw", "Needs a drill to mount", true),
+                item(4L, 1L, "Hammer drill", "Heavy", true)));
+        index.rebuild();
+
+        assertEquals(List.of(2L, 4L, 3L), ids("drill"));
+        assertEquals(List.of(4L), ids("drill", 1, 1));
+        assertEquals(List.of(3L), ids("drill", 2, 5));
+        assertEquals(List.of(), ids("drill", 3, 5));
+    }
+
+    @Test
+    public void testPut_ReindexesChangedAndUnavailableItems() {
+        index.rebuild();
+
+        index.put(item(1L, 1L, "Перфоратор", "Мощный", true));
+        index.put(item(2L, 1L, "Отвертка", "Аккумуляторная отвертка", false));
+
+        assertEquals(List.of(), ids("дрель"));
+        assertEquals(List.of(1L), ids("перфо"));
+        assertEquals(List.of(), ids("отвертка"));
+    }
+
+    @Test
+    public void testRemoveByOwner_DropsAllOwnerItems() {
+        index.rebuild();
+
+        index.removeByOwner(1L);
+
+        assertEquals(List.of(3L), ids("r"));
+        assertEquals(List.of(), ids("дрель"));
+    }
+
+    private List<Long> ids(String text) {
+        return ids(text, 0, 100);
+    }
+
+    private List<Long> ids(String text, int offset, int limit) {
+        return index.search(text, offset, limit).orElseThrow()
+                .stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Item item(Long id, Long ownerId, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(User.builder().id(ownerId).build())
+                .build();
+    }
+}
@@ -11,10 +11,12 @@ import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.Status;
-import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.model.dto.BookingItemDto;
+import ru.practicum.shareit.booking.model.dto.LastNextBookingDto;
+import ru.practicum.shareit.booking.service.ItemBookingsReadModel;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
@@ -23,16 +25,18 @@ import ru.practicum.shareit.item.model.dto.ItemBookingsDto;
 import ru.practicum.shareit.item.model.dto.ItemDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.tool.ItemMapper;
+import ru.practicum.shareit.request.exception.PaginationParamException;
 import ru.practicum.shareit.request.exception.RequestNotFoundException;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.web.ResourceVersions;
 
-import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Collections;
 
@@ -53,14 +57,20 @@ public class ItemServiceImplTest {
     private ItemRequestRepository itemRequestRepository;
 
     @Mock
-    private BookingRepository bookingRepository;
+    private ItemBookingsReadModel itemBookingsReadModel;
 
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @Test
     public void testCreate_Successful() {
         long ownerId = 1L;
@@ -300,10 +310,10 @@ public class ItemServiceImplTest {
                 .available(false)
                 .build();
 
-        when(itemRepository.findAllByNameAndDescription(searchText))
+        when(itemRepository.findAllByNameAndDescription(eq(searchText), any(Pageable.class)))
                 .thenReturn(Arrays.asList(item1, item2));
 
-        List<ItemDto> items = itemService.search(searchText);
+        List<ItemDto> items = itemService.search(searchText, 0, 10);
 
         assertEquals(2, items.size());
         assertEquals(item1.getId(), items.get(0).getId());
@@ -316,11 +326,43 @@ public class ItemServiceImplTest {
         assertEquals(item2.getAvailable(), items.get(1).getAvailable());
     }
 
+    @Test
+    public void testSearch_ServedFromIndexWhenReady() {
+        String searchText = "Item";
+        List<ItemDto> indexed = List.of(ItemDto.builder()
+                .id(1L)
+                .name("Item 1")
+                .available(true)
+                .build());
+
+        when(itemSearchIndex.search(searchText, 0, 10)).thenReturn(Optional.of(indexed));
+
+        assertEquals(indexed, itemService.search(searchText, 0, 10));
+        verify(itemRepository, never()).findAllByNameAndDescription(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    public void testSearch_ClampsWindowAndAlignsOffsetToPage() {
+        String searchText = "Item";
+
+        when(itemSearchIndex.search(searchText, 200, 100)).thenReturn(Optional.of(List.of()));
+
+        itemService.search(searchText, 250, 1000);
+
+        verify(itemSearchIndex).search(searchText, 200, 100);
+    }
+
+    @Test
+    public void testSearch_InvalidPaginationParams() {
+        assertThrows(PaginationParamException.class, () -> itemService.search("Item", -1, 10));
+        assertThrows(PaginationParamException.class, () -> itemService.search("Item", 0, 0));
+    }
+
     @Test
     public void testSearch_EmptyText() {
         String searchText = "";
 
-        List<ItemDto> items = itemService.search(searchText);
+        List<ItemDto> items = itemService.search(searchText, 0, 10);
 
         assertTrue(items.isEmpty());
     }
@@ -347,30 +389,25 @@ public class ItemServiceImplTest {
                 .available(false)
                 .build();
 
-        Booking booking1 = Booking.builder()
+        BookingItemDto booking1 = BookingItemDto.builder().id(1L).bookerId(3L).build();
+        BookingItemDto booking2 = BookingItemDto.builder().id(2L).bookerId(3L).build();
+
+        Comment comment = Comment.builder()
                 .id(1L)
-                .item(item1)
-                .booker(booker)
-                .start(LocalDateTime.now())
-                .end(LocalDateTime.now().plusDays(5))
-                .build();
-        Booking booking2 = Booking.builder()
-                .id(2L)
+                .text("Nice")
+                .author(booker)
                 .item(item2)
-                .booker(booker)
-                .start(LocalDateTime.now().plusDays(10))
-                .end(LocalDateTime.now().plusDays(15))
                 .build();
 
         List<Item> items = Arrays.asList(item1, item2);
 
-        when(itemRepository.findAllByOwnerId(ownerId)).thenReturn(items);
-        when(bookingRepository.findLatestBookingsForItems(anyList()))
-                .thenReturn(Collections.singletonList(booking1));
-        when(bookingRepository.findFutureBookingsForItems(anyList()))
-                .thenReturn(Collections.singletonList(booking2));
+        when(itemRepository.findAllByOwnerId(eq(ownerId), any(Pageable.class))).thenReturn(items);
+        when(itemBookingsReadModel.get(List.of(1L, 2L))).thenReturn(Map.of(
+                1L, LastNextBookingDto.builder().lastBooking(booking1).build(),
+                2L, LastNextBookingDto.builder().nextBooking(booking2).build()));
+        when(commentRepository.findAllByItemIdInOrderByCreated(List.of(1L, 2L))).thenReturn(List.of(comment));
 
-        List<ItemBookingsDto> itemBookingsDtos = itemService.getByOwnerId(ownerId);
+        List<ItemBookingsDto> itemBookingsDtos = itemService.getByOwnerId(ownerId, 0, 10);
 
         assertEquals(2, itemBookingsDtos.size());
         assertEquals(item1.getId(), itemBookingsDtos.get(0).getId());
@@ -385,17 +422,33 @@ public class ItemServiceImplTest {
         assertEquals(item2.getAvailable(), itemBookingsDtos.get(1).getAvailable());
         assertNull(itemBookingsDtos.get(1).getLastBooking());
         assertEquals(booking2.getId(), itemBookingsDtos.get(1).getNextBooking().getId());
+        assertEquals(booking2.getBookerId(), itemBookingsDtos.get(1).getNextBooking().getBookerId());
+        assertTrue(itemBookingsDtos.get(0).getComments().isEmpty());
+        assertEquals("Nice", itemBookingsDtos.get(1).getComments().get(0).getText());
     }
 
     @Test
     public void testGetByOwnerId_NoItemsFound() {
         Long ownerId = 1L;
 
-        when(itemRepository.findAllByOwnerId(ownerId)).thenReturn(Collections.emptyList());
+        when(itemRepository.findAllByOwnerId(eq(ownerId), any(Pageable.class))).thenReturn(Collections.emptyList());
 
-        List<ItemBookingsDto> itemBookingsDtos = itemService.getByOwnerId(ownerId);
+        List<ItemBookingsDto> itemBookingsDtos = itemService.getByOwnerId(ownerId, 0, 10);
 
         assertTrue(itemBookingsDtos.isEmpty());
+        verifyNoInteractions(itemBookingsReadModel, commentRepository);
+    }
+
+    @Test
+    public void testGetByOwnerId_RequestsPageSortedById() {
+        Long ownerId = 1L;
+
+        when(itemRepository.findAllByOwnerId(eq(ownerId), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        itemService.getByOwnerId(ownerId, 20, 10);
+
+        verify(itemRepository).findAllByOwnerId(ownerId,
+                PageRequest.of(2, 10, Sort.by(Sort.Direction.ASC, "id")));
     }
 
     @Test
@@ -430,21 +483,20 @@ public class ItemServiceImplTest {
         item.setId(itemId);
         item.setOwner(owner);
 
-        Booking approvedBooking1 = new Booking();
-        approvedBooking1.setStart(LocalDateTime.now().plusDays(1));
-        approvedBooking1.setEnd(LocalDateTime.now().plusDays(1));
-        approvedBooking1.setStatus(Status.APPROVED);
+        BookingItemDto lastBooking = BookingItemDto.builder().id(5L).bookerId(3L).build();
 
         List<Comment> comments = List.of(new Comment(), new Comment());
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(bookingRepository.findFirstByItemIdAndStartIsBeforeAndStatus(
-                eq(itemId), any(LocalDateTime.class), eq(Status.APPROVED), any(Sort.class)))
-                .thenReturn(Optional.of(approvedBooking1));
+        when(itemBookingsReadModel.get(itemId))
+                .thenReturn(LastNextBookingDto.builder().lastBooking(lastBooking).build());
+        when(commentRepository.findAllByItemIdOrderByCreated(itemId)).thenReturn(comments);
 
         ItemBookingsDto result = itemService.getById(itemId, ownerId);
-        when(commentRepository.findAllByItemIdOrderByCreated(itemId)).thenReturn(comments);
-        assertNotNull(result);
+
+        assertEquals(lastBooking, result.getLastBooking());
+        assertNull(result.getNextBooking());
+        assertEquals(2, result.getComments().size());
     }
 
     @Test
@@ -13,6 +13,7 @@ import org.springframework.web.context.WebApplicationContext;
 import ru.practicum.shareit.request.model.dto.ItemRequestCreationDto;
 import ru.practicum.shareit.request.model.dto.ItemRequestSendingDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.web.ResourceVersions;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -30,6 +31,9 @@ public class RequestControllerTest {
     @MockBean
     private ItemRequestService itemRequestService;
 
+    @MockBean
+    private ResourceVersions resourceVersions;
+
     @Autowired
     private WebApplicationContext webApplicationContext;
 
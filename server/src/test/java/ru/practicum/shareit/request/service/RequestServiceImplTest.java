@@ -22,6 +22,8 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
+import ru.practicum.shareit.web.ResourceVersions;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
@@ -40,6 +42,9 @@ public class RequestServiceImplTest {
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
@@ -49,6 +54,9 @@ public class RequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @BeforeEach
     public void setup() {
     }
@@ -111,7 +119,7 @@ public class RequestServiceImplTest {
                         .request(itemRequest)
                         .build());
 
-        when(userRepository.existsById(requesterId)).thenReturn(true);
+        when(userExistenceCache.exists(requesterId)).thenReturn(true);
         when(itemRepository.findByRequestIdIn(any())).thenReturn(items);
         when(itemRequestRepository.findAllByRequesterId(requesterId)).thenReturn(List.of(itemRequest));
 
@@ -119,7 +127,7 @@ public class RequestServiceImplTest {
 
         assertNotNull(result);
 
-        verify(userRepository, times(1)).existsById(requesterId);
+        verify(userExistenceCache, times(1)).exists(requesterId);
         verify(itemRequestRepository, times(1)).findAllByRequesterId(requesterId);
     }
 
@@ -132,7 +140,7 @@ public class RequestServiceImplTest {
         User user = User.builder()
                 .id(userId)
                 .build();
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceCache.exists(userId)).thenReturn(true);
 
         List<ItemRequest> itemRequests = Collections.emptyList(); // Replace with valid item requests
         Page<ItemRequest> pageResult = new PageImpl<>(itemRequests);
@@ -142,7 +150,7 @@ public class RequestServiceImplTest {
 
         assertNotNull(result);
 
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceCache, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findAll(userId, PageRequest.of(0, size));
     }
 
@@ -151,7 +159,7 @@ public class RequestServiceImplTest {
         int from = 0;
         int size = 10;
         long userId = 2L; // An invalid user
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userExistenceCache.exists(userId)).thenReturn(false);
 
         assertThrows(UserNotFoundException.class, () -> itemRequestService.getRequests(from, size, userId));
     }
@@ -162,7 +170,7 @@ public class RequestServiceImplTest {
         int size = 0; // Invalid 'size' parameter
         long userId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceCache.exists(userId)).thenReturn(true);
 
         assertThrows(PaginationParamException.class, () -> itemRequestService.getRequests(from, size, userId));
     }
@@ -171,7 +179,7 @@ public class RequestServiceImplTest {
     public void testGetRequestWithValidUserAndRequest() {
         long userId = 1L;
         long requestId = 1L;
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceCache.exists(userId)).thenReturn(true);
 
         ItemRequest itemRequest = new ItemRequest(); // Create a valid item request
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(itemRequest));
@@ -187,7 +195,7 @@ public class RequestServiceImplTest {
 
         assertNotNull(result);
 
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceCache, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findById(requestId);
         verify(itemRepository, times(1)).findByRequestId(requestId);
     }
@@ -196,7 +204,7 @@ public class RequestServiceImplTest {
     public void testGetRequestWithInvalidUser() {
         long userId = 2L; // An invalid user
         long requestId = 1L;
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userExistenceCache.exists(userId)).thenReturn(false);
 
 
         assertThrows(UserNotFoundException.class, () -> itemRequestService.getRequest(requestId, userId));
@@ -206,7 +214,7 @@ public class RequestServiceImplTest {
     public void testGetRequestWithInvalidRequest() {
         long userId = 1L;
         long requestId = 2L;
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceCache.exists(userId)).thenReturn(true);
 
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.empty());
 
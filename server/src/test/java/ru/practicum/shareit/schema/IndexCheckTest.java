@@ -0,0 +1,33 @@
+package ru.practicum.shareit.schema;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class IndexCheckTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    public void findMissingIndexes_ShouldBeEmptyAfterMigrations() throws SQLException {
+        assertTrue(new IndexCheck(dataSource).findMissingIndexes().isEmpty());
+    }
+
+    @Test
+    public void findMissingIndexes_ShouldReportIndexWithoutMatchingLeadingColumns() throws SQLException {
+        IndexCheck check = new IndexCheck(dataSource, Map.of(
+                "bookings", List.of(List.of("booker_id", "start_date"), List.of("status", "end_date"))));
+
+        assertEquals(List.of("bookings[status, end_date]"), check.findMissingIndexes());
+    }
+}
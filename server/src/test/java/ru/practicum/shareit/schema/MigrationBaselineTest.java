@@ -0,0 +1,40 @@
+package ru.practicum.shareit.schema;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MigrationBaselineTest {
+
+    @Test
+    public void migrate_ShouldUpgradeSchemaCreatedBeforeFlyway() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:baseline;DB_CLOSE_DELAY=-1", "test", "test");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__init_schema.sql")).execute(dataSource);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@baseline.test')");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id) "
+                + "VALUES (1, 'item', 'description', true, 1)");
+        jdbcTemplate.update("INSERT INTO bookings (id, item_id, booker_id, status) VALUES (1, 1, 1, 'WAITING')");
+
+        try {
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+
+            assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM bookings WHERE id = 1", Long.class));
+        } finally {
+            jdbcTemplate.execute("DROP ALL OBJECTS");
+        }
+    }
+}
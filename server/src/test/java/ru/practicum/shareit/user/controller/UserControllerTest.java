@@ -11,6 +11,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.web.ResourceVersions;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -29,6 +30,9 @@ public class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private ResourceVersions resourceVersions;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.user.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput of {@code saveAll}: 20,000 users in 1,000-row transactions, eight rounds, with the number of
+ * prepared statements per round. Not part of the regular test run; start it with
+ * {@code mvn -pl server test -Dtest=UserInsertBenchmark} against the in-memory H2 of the test profile.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class UserInsertBenchmark {
+
+    private static final int ROUNDS = 8;
+
+    private static final int USERS = 20_000;
+
+    private static final int CHUNK = 1_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE '%@benchmark.test'");
+    }
+
+    @Test
+    public void benchmark() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int round = 0; round < ROUNDS; round++) {
+            statistics.clear();
+            long start = System.nanoTime();
+            for (int chunk = 0; chunk < USERS / CHUNK; chunk++) {
+                String prefix = round + "-" + chunk + "-";
+                transaction.executeWithoutResult(status -> {
+                    List<User> users = new ArrayList<>(CHUNK);
+                    for (int i = 0; i < CHUNK; i++) {
+                        users.add(User.builder().name("user").email(prefix + i + "@benchmark.test").build());
+                    }
+                    userRepository.saveAll(users);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            }
+            long ms = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+            log.info("Round {}: {} users in {} ms, {} rows/s, {} prepared statements",
+                    round, USERS, ms, USERS * 1000L / ms, statistics.getPrepareStatementCount());
+        }
+    }
+}
@@ -1,20 +1,29 @@
 package ru.practicum.shareit.user.repository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class UserRepositoryTest {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     public void testFindByEmail_UserExists() {
         String email = "john@example.com";
@@ -61,4 +70,23 @@ public class UserRepositoryTest {
 
         assertFalse(existsByEmail);
     }
+
+    @Test
+    public void testSaveAll_InsertsInJdbcBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<User> users = IntStream.range(0, 100)
+                .mapToObj(i -> User.builder()
+                        .name("User" + i)
+                        .email("user" + i + "@batch.test")
+                        .build())
+                .collect(Collectors.toList());
+
+        userRepository.saveAll(users);
+        userRepository.flush();
+
+        assertEquals(100, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 10);
+        assertTrue(users.stream().allMatch(user -> user.getId() != null));
+    }
 }
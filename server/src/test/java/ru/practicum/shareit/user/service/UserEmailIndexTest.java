@@ -0,0 +1,76 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.model.dto.UserEmailView;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UserEmailIndexTest {
+
+    private UserEmailIndex index;
+
+    @BeforeEach
+    public void setup() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findAllProjectedBy()).thenReturn(List.of(view(1L, "john@example.com")));
+        index = new UserEmailIndex(userRepository);
+    }
+
+    @Test
+    public void testLoad_IndexesExistingUsers() {
+        index.load();
+
+        assertEquals(Optional.of(1L), index.findId("john@example.com"));
+        assertEquals(Optional.empty(), index.findId("jane@example.com"));
+    }
+
+    @Test
+    public void testLoad_KeepsChangesMadeBeforeLoading() {
+        index.put(1L, "johnny@example.com");
+
+        index.load();
+
+        assertEquals(Optional.of(1L), index.findId("johnny@example.com"));
+        assertEquals(Optional.empty(), index.findId("john@example.com"));
+    }
+
+    @Test
+    public void testPut_ChangedEmailFreesTheOldOne() {
+        index.load();
+
+        index.put(1L, "johnny@example.com");
+
+        assertEquals(Optional.of(1L), index.findId("johnny@example.com"));
+        assertEquals(Optional.empty(), index.findId("john@example.com"));
+    }
+
+    @Test
+    public void testRemove_FreesEmail() {
+        index.load();
+
+        index.remove(1L);
+
+        assertEquals(Optional.empty(), index.findId("john@example.com"));
+    }
+
+    private static UserEmailView view(Long id, String email) {
+        return new UserEmailView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
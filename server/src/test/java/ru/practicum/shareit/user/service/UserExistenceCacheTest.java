@@ -0,0 +1,95 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UserExistenceCacheTest {
+
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(false);
+    }
+
+    @Test
+    public void testExists_KnownUserIsLoadedOnce() {
+        UserExistenceCache cache = cache(60000, 0);
+
+        assertTrue(cache.exists(1L));
+        assertTrue(cache.exists(1L));
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    public void testExists_UnknownUserIsNotRememberedByDefault() {
+        UserExistenceCache cache = cache(60000, 0);
+
+        assertFalse(cache.exists(2L));
+        assertFalse(cache.exists(2L));
+
+        verify(userRepository, times(2)).existsById(2L);
+    }
+
+    @Test
+    public void testExists_UnknownUserIsRememberedWithNegativeTtl() {
+        UserExistenceCache cache = cache(60000, 60000);
+
+        assertFalse(cache.exists(2L));
+        assertFalse(cache.exists(2L));
+
+        verify(userRepository, times(1)).existsById(2L);
+    }
+
+    @Test
+    public void testInvalidate_RemovedUserIsCheckedAgain() {
+        UserExistenceCache cache = cache(60000, 60000);
+        cache.exists(1L);
+
+        when(userRepository.existsById(1L)).thenReturn(false);
+        cache.invalidate(1L);
+
+        assertFalse(cache.exists(1L));
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    public void testExists_EntryExpiresAfterTtl() throws InterruptedException {
+        UserExistenceCache cache = cache(20, 0);
+        cache.exists(1L);
+
+        Thread.sleep(50);
+        cache.exists(1L);
+
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    public void testExists_TableStaysBounded() {
+        UserExistenceCache cache = new UserExistenceCache(userRepository, 60000, 60000, 10, new SimpleMeterRegistry());
+        for (long id = 100; id < 200; id++) {
+            cache.exists(id);
+        }
+
+        cache.exists(1L);
+        cache.exists(1L);
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    private UserExistenceCache cache(long ttlMs, long negativeTtlMs) {
+        return new UserExistenceCache(userRepository, ttlMs, negativeTtlMs, 1000, new SimpleMeterRegistry());
+    }
+}
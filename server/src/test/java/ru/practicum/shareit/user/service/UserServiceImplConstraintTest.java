@@ -0,0 +1,53 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.user.exception.EmailAlreadyExistsException;
+import ru.practicum.shareit.user.model.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against the database so that conflicts the email index has not seen reach the unique constraint.
+ */
+@SpringBootTest
+public class UserServiceImplConstraintTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserEmailIndex userEmailIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanup() {
+        jdbcTemplate.update("delete from users where email like '%@constraint.test'");
+    }
+
+    @Test
+    public void testCreateUser_EmailTakenBehindIndex_EmailAlreadyExists() {
+        jdbcTemplate.update("insert into users (id, name, email) values (1000000001, 'x', 'taken@constraint.test')");
+        assertTrue(userEmailIndex.findId("taken@constraint.test").isEmpty());
+
+        UserDto user = UserDto.builder().name("John").email("taken@constraint.test").build();
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.create(user));
+    }
+
+    @Test
+    public void testPatchUser_EmailTakenBehindIndex_EmailAlreadyExists() {
+        jdbcTemplate.update("insert into users (id, name, email) values (1000000001, 'x', 'taken@constraint.test')");
+        UserDto created = userService.create(UserDto.builder().name("John").email("john@constraint.test").build());
+
+        UserDto patch = UserDto.builder().email("taken@constraint.test").build();
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.patch(created.getId(), patch));
+    }
+}
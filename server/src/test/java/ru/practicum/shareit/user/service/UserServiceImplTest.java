@@ -12,12 +12,14 @@ import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
 import ru.practicum.shareit.user.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.dto.UserDto;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.tool.UserMapper;
+import ru.practicum.shareit.web.ResourceVersions;
 
 import javax.transaction.Transactional;
 import java.util.Arrays;
@@ -34,9 +36,21 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
+    @Mock
+    private UserEmailIndex userEmailIndex;
+
     @InjectMocks
     private UserServiceImpl userService;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     private UserDto testUser;
 
     private User existingUser;
@@ -73,6 +87,25 @@ public class UserServiceImplTest {
         assertThrows(EmailAlreadyExistsException.class, () -> userService.create(testUser));
     }
 
+    @Test
+    public void testCreateUser_EmailInIndex_RejectedWithoutInsert() {
+        when(userEmailIndex.findId(testUser.getEmail())).thenReturn(Optional.of(1L));
+        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(existingUser));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.create(testUser));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    public void testCreateUser_StaleEmailInIndex_IsDroppedAndUserCreated() {
+        when(userEmailIndex.findId(testUser.getEmail())).thenReturn(Optional.of(1L));
+        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenReturn(UserMapper.fromDto(testUser));
+
+        assertDoesNotThrow(() -> userService.create(testUser));
+        verify(userEmailIndex, times(1)).remove(1L);
+    }
+
     @Test
     public void testPatchUser_Successful() {
         Long userId = 1L;
@@ -119,6 +152,7 @@ public class UserServiceImplTest {
                 .build();
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userEmailIndex.findId(patchUser.getEmail())).thenReturn(Optional.of(2L));
         when(userRepository.findByEmail(patchUser.getEmail())).thenReturn(Optional.of(someUserWithSameEmail));
 
         assertThrows(EmailAlreadyExistsException.class, () -> userService.patch(userId, patchUser));
@@ -213,6 +247,7 @@ public class UserServiceImplTest {
 
         assertDoesNotThrow(() -> userService.removeById(userId));
         verify(userRepository, times(1)).deleteById(userId);
+        verify(userExistenceCache, times(1)).invalidate(userId);
     }
 
     @Test
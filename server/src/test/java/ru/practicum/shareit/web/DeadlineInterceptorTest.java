@@ -0,0 +1,57 @@
+package ru.practicum.shareit.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.web.ResourceVersions;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.web.DeadlineInterceptor.DEADLINE_EXCEEDED_HEADER;
+import static ru.practicum.shareit.web.DeadlineInterceptor.DEADLINE_HEADER;
+
+@WebMvcTest(UserController.class)
+public class DeadlineInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private ResourceVersions resourceVersions;
+
+    @Test
+    public void testGet_PassedDeadlineIsRejectedBeforeService() throws Exception {
+        mockMvc.perform(get("/users/1")
+                        .header(DEADLINE_HEADER, System.currentTimeMillis() - 1))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(DEADLINE_EXCEEDED_HEADER, "true"))
+                .andExpect(jsonPath("$.error").value("SERVICE_UNAVAILABLE"));
+
+        verify(userService, never()).getById(anyLong());
+    }
+
+    @Test
+    public void testGet_FutureOrMissingDeadlineIsServed() throws Exception {
+        when(userService.getById(1L)).thenReturn(UserDto.builder().id(1L).name("John").email("john@example.com").build());
+
+        mockMvc.perform(get("/users/1")
+                        .header(DEADLINE_HEADER, System.currentTimeMillis() + 60_000))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest({UserController.class, ItemRequestController.class})
+@Import(EtagConfig.class)
+public class EtagConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private ItemRequestService itemRequestService;
+
+    @MockBean
+    private ResourceVersions resourceVersions;
+
+    @Test
+    public void testGet_ReturnsVersionEtag() throws Exception {
+        when(resourceVersions.current(List.of(ResourceVersions.USERS))).thenReturn(7L);
+        when(userService.getById(1L)).thenReturn(UserDto.builder().id(1L).name("John").email("john@example.com").build());
+
+        mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"7\""));
+    }
+
+    @Test
+    public void testGet_MatchingEtagIsAnsweredWithoutReadingData() throws Exception {
+        when(resourceVersions.current(List.of(ResourceVersions.USERS))).thenReturn(7L);
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(userService, never()).getById(anyLong());
+    }
+
+    @Test
+    public void testGet_ChangedVersionGetsNewEtag() throws Exception {
+        when(resourceVersions.current(List.of(ResourceVersions.USERS))).thenReturn(8L);
+        when(userService.getById(1L)).thenReturn(UserDto.builder().id(1L).name("Johnny").email("john@example.com").build());
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"8\""));
+    }
+
+    @Test
+    public void testGet_RequestsDependOnUsersItemsAndRequests() throws Exception {
+        when(resourceVersions.current(List.of(ResourceVersions.USERS, ResourceVersions.ITEMS,
+                ResourceVersions.REQUESTS))).thenReturn(3L);
+
+        mockMvc.perform(get("/requests/1").header("X-Sharer-User-Id", 1).header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""))
+                .andExpect(status().isNotModified());
+
+        verify(itemRequestService, never()).getRequest(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.request.model.dto.ItemRequestCreationDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+public class ResourceVersionsTest {
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM requests WHERE description = 'versions test'");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE '%@versions.test'");
+    }
+
+    @Test
+    public void touch_CommittedWritesBumpTheirResource() {
+        long users = resourceVersions.current(List.of(ResourceVersions.USERS));
+        long requests = resourceVersions.current(List.of(ResourceVersions.REQUESTS));
+
+        UserDto user = userService.create(UserDto.builder().name("John").email("john@versions.test").build());
+        itemRequestService.create(ItemRequestCreationDto.builder().description("versions test").build(), user.getId());
+
+        assertEquals(users + 1, resourceVersions.current(List.of(ResourceVersions.USERS)));
+        assertEquals(requests + 1, resourceVersions.current(List.of(ResourceVersions.REQUESTS)));
+    }
+
+    @Test
+    public void touch_FailedWriteLeavesVersion() {
+        userService.create(UserDto.builder().name("John").email("taken@versions.test").build());
+        long users = resourceVersions.current(List.of(ResourceVersions.USERS));
+
+        assertThrows(RuntimeException.class, () ->
+                userService.create(UserDto.builder().name("Jane").email("taken@versions.test").build()));
+
+        assertEquals(users, resourceVersions.current(List.of(ResourceVersions.USERS)));
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.web.ResourceVersions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookingController.class)
+@Import(SmileConfig.class)
+public class SmileConfigTest {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @MockBean
+    private ResourceVersions resourceVersions;
+
+    @Test
+    public void testGet_SmileRequested_ReturnsSameDocumentInAThirdOfTheBytes() throws Exception {
+        when(bookingService.getBookingsByBookerId(1L, State.ALL, 0, 50)).thenReturn(bookings(50));
+
+        byte[] json = mockMvc.perform(get("/bookings?size=50").header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/bookings?size=50").header("X-Sharer-User-Id", 1)
+                        .accept(APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_SMILE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        JsonNode fromSmile = new ObjectMapper(new SmileFactory()).readTree(smile);
+        assertThat(objectMapper.writeValueAsBytes(fromSmile)).isEqualTo(json);
+        assertThat(smile.length).isLessThan(json.length / 3);
+    }
+
+    @Test
+    public void testGet_NoAcceptHeader_ReturnsJson() throws Exception {
+        when(bookingService.getBookingsByBookerId(1L, State.ALL, 0, 10)).thenReturn(bookings(1));
+
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private static List<BookingSendingDto> bookings(int count) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> BookingSendingDto.builder()
+                        .id(id)
+                        .start(start.plusDays(id))
+                        .end(start.plusDays(id + 1))
+                        .item(ItemDto.builder().id(id % 5 + 1).name("Drill").description("Power drill")
+                                .available(true).build())
+                        .booker(UserDto.builder().id(2L).name("John").email("john@example.com").build())
+                        .status(Status.APPROVED)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
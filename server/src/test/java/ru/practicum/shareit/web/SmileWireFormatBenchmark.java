@@ -0,0 +1,97 @@
+package ru.practicum.shareit.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.model.dto.BookingSendingDto;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.user.model.dto.UserDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Size and cost of a 50-row booking page as JSON and as Smile: writing each on the server and
+ * transcoding Smile back to JSON as the gateway does. Not part of the regular test run; start it with
+ * {@code mvn -pl server test -Dtest=SmileWireFormatBenchmark} and read the timings from the log.
+ */
+@Slf4j
+public class SmileWireFormatBenchmark {
+
+    private static final int ROUNDS = 3;
+
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    public void benchmark() throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json()
+                .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<BookingSendingDto> page = page();
+        byte[] jsonBytes = json.writeValueAsBytes(page);
+        byte[] smileBytes = smile.writeValueAsBytes(page);
+        log.info("50-row page: JSON {} bytes, Smile {} bytes", jsonBytes.length, smileBytes.length);
+
+        JsonFactory jsonFactory = new JsonFactory();
+        SmileFactory smileFactory = new SmileFactory();
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                json.writeValueAsBytes(page);
+            }
+            long writeJson = (System.nanoTime() - start) / ITERATIONS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                smile.writeValueAsBytes(page);
+            }
+            long writeSmile = (System.nanoTime() - start) / ITERATIONS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(jsonBytes.length);
+                try (JsonParser parser = smileFactory.createParser(smileBytes);
+                     JsonGenerator generator = jsonFactory.createGenerator(out)) {
+                    parser.nextToken();
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+            long transcode = (System.nanoTime() - start) / ITERATIONS;
+
+            log.info("Round {}: write JSON {} us, write Smile {} us, Smile to JSON {} us",
+                    round, writeJson / 1000.0, writeSmile / 1000.0, transcode / 1000.0);
+        }
+    }
+
+    private static List<BookingSendingDto> page() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        return LongStream.rangeClosed(1, 50)
+                .mapToObj(id -> BookingSendingDto.builder()
+                        .id(id)
+                        .start(start.plusDays(id))
+                        .end(start.plusDays(id + 1))
+                        .item(ItemDto.builder().id(id % 5 + 1).name("Drill " + id % 5)
+                                .description("Power drill with case").available(true).build())
+                        .booker(UserDto.builder().id(id % 3 + 1).name("User " + id % 3)
+                                .email("user" + id % 3 + "@example.com").build())
+                        .status(Status.APPROVED)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}